@@ -0,0 +1,29 @@
+#!/usr/bin/env bash
+# 平台线程与虚拟线程的吞吐对比，需要wrk、curl和jq
+# 用法：先以一种模式启动服务，执行 USERNAME=.. PASSWORD=.. scripts/load-compare.sh <标签>；再以另一种模式重启服务并用另一个标签执行一次
+#   平台线程: mvn -Pjava21 spring-boot:run -Dapp.virtual-threads.enabled=false
+#   虚拟线程: mvn -Pjava21 spring-boot:run
+# 两种模式使用相同的JDK、驱动、数据库和连接池配置(spring.datasource.hikari.maximum-pool-size)
+set -euo pipefail
+
+LABEL=${1:?用法: $0 <标签> [并发数列表]}
+CONCURRENCY=${2:-"50 200 1000 2000"}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+USERNAME=${USERNAME:?需要拥有user:view权限的用户名}
+PASSWORD=${PASSWORD:?需要该用户的密码}
+DURATION=${DURATION:-30s}
+# 需要鉴权并访问数据库的接口
+TARGET=${TARGET:-/user/list?size=20}
+
+TOKEN=$(curl -sf -H 'Content-Type: application/json' \
+    -d "{\"username\":\"${USERNAME}\",\"password\":\"${PASSWORD}\"}" \
+    "${BASE_URL}/auth/login" | jq -r '.data.token')
+
+OUT="load-${LABEL}.txt"
+: > "${OUT}"
+for c in ${CONCURRENCY}; do
+    echo "== ${LABEL} connections=${c} ${TARGET}" | tee -a "${OUT}"
+    wrk -t"$(nproc)" -c"${c}" -d"${DURATION}" --latency \
+        -H "Authorization: Bearer ${TOKEN}" "${BASE_URL}${TARGET}" | tee -a "${OUT}"
+done
+echo "结果已写入 ${OUT}"
@@ -0,0 +1,50 @@
+package com.example.System.benchmark;
+
+import com.example.System.entity.Permission;
+import com.example.System.security.VerifiedTokenCache;
+import com.example.System.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 基准测试共用的对象构建，不启动Spring容器，依赖按生产配置手工装配
+ */
+final class BenchmarkFixtures {
+
+    static final String SECRET = "mySecretKeyForJWTTokenGenerationThatIs256BitsLongAndSecureEnoughForProductionUse";
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtUtil jwtUtil(boolean tokenCacheEnabled) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedTokenCache",
+                new VerifiedTokenCache(tokenCacheEnabled, 50000, Duration.ofHours(1), new SimpleMeterRegistry()));
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    /**
+     * count个权限，TestController要求的user:view、role:view排在最后
+     */
+    static List<Permission> permissions(int count) {
+        List<Permission> permissions = new ArrayList<>(count);
+        for (int i = 0; i < count - 2; i++) {
+            permissions.add(new Permission().setId((long) i + 100).setPermissionCode("resource" + i + ":view"));
+        }
+        permissions.add(new Permission().setId(1L).setPermissionCode("user:view"));
+        permissions.add(new Permission().setId(5L).setPermissionCode("role:view"));
+        return permissions;
+    }
+
+    static String joinCodes(List<Permission> permissions) {
+        return permissions.stream().map(Permission::getPermissionCode).collect(Collectors.joining(","));
+    }
+}
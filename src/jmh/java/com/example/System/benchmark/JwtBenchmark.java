@@ -0,0 +1,71 @@
+package com.example.System.benchmark;
+
+import com.example.System.security.TokenClaims;
+import com.example.System.util.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT签发与验签，token大小随权限数增长
+ * 运行：mvn -Pjmh test-compile exec:exec -Djmh.args="JwtBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int permissionCount;
+
+    private JwtUtil uncachedJwtUtil;
+
+    private JwtUtil cachedJwtUtil;
+
+    private String permissions;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        uncachedJwtUtil = BenchmarkFixtures.jwtUtil(false);
+        cachedJwtUtil = BenchmarkFixtures.jwtUtil(true);
+        permissions = BenchmarkFixtures.joinCodes(BenchmarkFixtures.permissions(permissionCount));
+        token = uncachedJwtUtil.generateToken("admin", 1L, "admin", permissions, "admin", 1L);
+        cachedJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncachedJwtUtil.generateToken("admin", 1L, "admin", permissions, "admin", 1L);
+    }
+
+    /**
+     * 每次都完整验签和解析
+     */
+    @Benchmark
+    public TokenClaims verify() {
+        return uncachedJwtUtil.verify(token);
+    }
+
+    /**
+     * 已验签token缓存命中
+     */
+    @Benchmark
+    public TokenClaims verifyCached() {
+        return cachedJwtUtil.verify(token);
+    }
+}
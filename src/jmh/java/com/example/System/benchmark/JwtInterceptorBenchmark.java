@@ -0,0 +1,130 @@
+package com.example.System.benchmark;
+
+import com.example.System.controller.TestController;
+import com.example.System.entity.Permission;
+import com.example.System.entity.Role;
+import com.example.System.interceptor.JwtInterceptor;
+import com.example.System.security.AuthorityCache;
+import com.example.System.security.AuthorizationMetrics;
+import com.example.System.security.AuthorizationPlanRegistry;
+import com.example.System.security.BitsetPermissionEngine;
+import com.example.System.security.EffectiveAuthorities;
+import com.example.System.security.PermissionEngine;
+import com.example.System.security.PolicyVersionRegistry;
+import com.example.System.service.impl.PermissionServiceImpl;
+import com.example.System.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtInterceptor.preHandle 全链路：取授权计划、验签、取有效权限、ANY/ALL判定
+ * 有效权限来自预热的内存权限缓存，对应线上缓存命中的稳态，不访问数据库。
+ * 请求对象每个线程复用一个，避免把MockHttpServletRequest的构造计入结果
+ * 运行：mvn -Pjmh test-compile exec:exec -Djmh.args="JwtInterceptorBenchmark -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtInterceptorBenchmark {
+
+    private static final Long USER_ID = 1L;
+
+    @Param({"10", "100", "1000"})
+    private int permissionCount;
+
+    /**
+     * 是否信任token中的权限声明（app.authorization.claims-trusted）
+     */
+    @Param({"false", "true"})
+    private boolean claimsTrusted;
+
+    private JwtInterceptor interceptor;
+
+    private HandlerMethod publicHandler;
+
+    private HandlerMethod anyHandler;
+
+    private HandlerMethod allHandler;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setup() throws Exception {
+        PermissionEngine engine = new BitsetPermissionEngine();
+        PolicyVersionRegistry policyVersionRegistry = new PolicyVersionRegistry();
+        JwtUtil jwtUtil = BenchmarkFixtures.jwtUtil(true);
+
+        AuthorizationPlanRegistry planRegistry = new AuthorizationPlanRegistry();
+        ReflectionTestUtils.setField(planRegistry, "permissionEngine", engine);
+
+        List<Permission> permissions = BenchmarkFixtures.permissions(permissionCount);
+        EffectiveAuthorities authorities = engine.build(USER_ID,
+                List.of(new Role().setId(3L).setRoleCode("user")), permissions);
+        AuthorityCache authorityCache = new AuthorityCache(10000, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        authorityCache.get(USER_ID, userId -> authorities);
+        PermissionServiceImpl permissionService = new PermissionServiceImpl();
+        ReflectionTestUtils.setField(permissionService, "authorityCache", authorityCache);
+
+        interceptor = new JwtInterceptor();
+        ReflectionTestUtils.setField(interceptor, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(interceptor, "permissionService", permissionService);
+        ReflectionTestUtils.setField(interceptor, "authorizationPlanRegistry", planRegistry);
+        ReflectionTestUtils.setField(interceptor, "permissionEngine", engine);
+        ReflectionTestUtils.setField(interceptor, "policyVersionRegistry", policyVersionRegistry);
+        ReflectionTestUtils.setField(interceptor, "authorizationMetrics", new AuthorizationMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(interceptor, "claimsTrusted", claimsTrusted);
+
+        TestController controller = new TestController();
+        publicHandler = new HandlerMethod(controller, TestController.class.getMethod("publicEndpoint"));
+        anyHandler = new HandlerMethod(controller, TestController.class.getMethod("anyPermissionEndpoint"));
+        allHandler = new HandlerMethod(controller, TestController.class.getMethod("allPermissionsEndpoint"));
+
+        String token = jwtUtil.generateToken("user", USER_ID, "user", BenchmarkFixtures.joinCodes(permissions),
+                "user", policyVersionRegistry.current(USER_ID));
+        request = new MockHttpServletRequest("GET", "/test");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+        // 装配有误时会走401/403分支，测出的就不是放行路径
+        if (!interceptor.preHandle(request, response, allHandler)) {
+            throw new IllegalStateException("preHandle未放行: " + response.getStatus() + " " + response.getContentAsString());
+        }
+    }
+
+    @Benchmark
+    public boolean publicEndpoint() throws Exception {
+        return interceptor.preHandle(request, response, publicHandler);
+    }
+
+    @Benchmark
+    public boolean anyPermission() throws Exception {
+        return interceptor.preHandle(request, response, anyHandler);
+    }
+
+    @Benchmark
+    public boolean allPermissions() throws Exception {
+        return interceptor.preHandle(request, response, allHandler);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.System.benchmark;
+
+import com.example.System.annotation.RequirePermission;
+import com.example.System.entity.Permission;
+import com.example.System.entity.Role;
+import com.example.System.security.AuthorityMask;
+import com.example.System.security.BitsetPermissionEngine;
+import com.example.System.security.EffectiveAuthorities;
+import com.example.System.security.PermissionEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 权限判定对比：原有的List&lt;String&gt;路径 与 位图引擎路径
+ * 运行：mvn -Pjmh test-compile exec:exec -Djmh.args="PermissionCheck -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PermissionCheckBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int permissionCount;
+
+    private List<String> ownedCodes;
+
+    private String[] requiredAny;
+
+    private String[] requiredAll;
+
+    private PermissionEngine engine;
+
+    private EffectiveAuthorities authorities;
+
+    private AuthorityMask anyMask;
+
+    private AuthorityMask allMask;
+
+    @Setup
+    public void setup() {
+        ownedCodes = new ArrayList<>();
+        List<Permission> permissions = new ArrayList<>();
+        for (int i = 0; i < permissionCount; i++) {
+            ownedCodes.add("resource" + i + ":view");
+            permissions.add(new Permission().setId((long) i).setPermissionCode("resource" + i + ":view"));
+        }
+        // ANY命中最后一个，ALL需要全部命中，均为最坏情况
+        requiredAny = new String[]{"missing:view", "resource" + (permissionCount - 1) + ":view"};
+        requiredAll = new String[]{"resource0:view", "resource" + (permissionCount / 2) + ":view",
+                "resource" + (permissionCount - 1) + ":view"};
+
+        engine = new BitsetPermissionEngine();
+        anyMask = engine.compilePermissions(requiredAny);
+        allMask = engine.compilePermissions(requiredAll);
+        authorities = engine.build(1L, List.of(new Role().setId(1L).setRoleCode("admin")), permissions);
+    }
+
+    @Benchmark
+    public boolean listAny() {
+        List<String> codes = ownedCodes.stream().collect(Collectors.toList());
+        return Arrays.stream(requiredAny).anyMatch(codes::contains);
+    }
+
+    @Benchmark
+    public boolean listAll() {
+        List<String> codes = ownedCodes.stream().collect(Collectors.toList());
+        return Arrays.stream(requiredAll).allMatch(codes::contains);
+    }
+
+    @Benchmark
+    public boolean bitsetAny() {
+        return engine.hasPermissions(authorities, anyMask, RequirePermission.Logical.ANY);
+    }
+
+    @Benchmark
+    public boolean bitsetAll() {
+        return engine.hasPermissions(authorities, allMask, RequirePermission.Logical.ALL);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.System.common;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 分页结果
+ * 默认为游标分页：nextCursor为下一页的游标，hasMore为false时已到末尾；
+ * 显式指定页码时为偏移分页，额外返回total
+ */
+@Data
+public class PageResult<T> {
+    private List<T> records;
+    private String nextCursor;
+    private boolean hasMore;
+    private Long total;
+
+    public static <T> PageResult<T> keyset(List<T> records, String nextCursor) {
+        PageResult<T> result = new PageResult<>();
+        result.setRecords(records);
+        result.setNextCursor(nextCursor);
+        result.setHasMore(nextCursor != null);
+        return result;
+    }
+
+    public static <T> PageResult<T> offset(List<T> records, long total, boolean hasMore) {
+        PageResult<T> result = new PageResult<>();
+        result.setRecords(records);
+        result.setHasMore(hasMore);
+        result.setTotal(total);
+        return result;
+    }
+}
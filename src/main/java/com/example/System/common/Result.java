@@ -1,9 +1,14 @@
 package com.example.System.common;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Data;
 
 @Data
+@JsonSerialize(using = ResultSerializer.class)
 public class Result<T> {
+
+    static final String SUCCESS_MESSAGE = "操作成功";
+
     private Integer code;
     private String message;
     private T data;
@@ -11,14 +16,14 @@ public class Result<T> {
     public static <T> Result<T> success() {
         Result<T> result = new Result<>();
         result.setCode(200);
-        result.setMessage("操作成功");
+        result.setMessage(SUCCESS_MESSAGE);
         return result;
     }
 
     public static <T> Result<T> success(T data) {
         Result<T> result = new Result<>();
         result.setCode(200);
-        result.setMessage("操作成功");
+        result.setMessage(SUCCESS_MESSAGE);
         result.setData(data);
         return result;
     }
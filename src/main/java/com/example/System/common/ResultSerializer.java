@@ -0,0 +1,53 @@
+package com.example.System.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * {@link Result}的序列化器
+ * 按固定顺序直接写出code、message、data，不经过Bean属性内省；字段名和常用提示语预先编码，
+ * 写出时直接复制UTF-8字节。data仍交给Jackson按其实际类型序列化（序列化器由Jackson缓存）。
+ */
+public class ResultSerializer extends StdSerializer<Result<?>> {
+
+    private static final SerializableString CODE = new SerializedString("code");
+
+    private static final SerializableString MESSAGE = new SerializedString("message");
+
+    private static final SerializableString DATA = new SerializedString("data");
+
+    private static final SerializableString SUCCESS_MESSAGE = new SerializedString(Result.SUCCESS_MESSAGE);
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ResultSerializer() {
+        super((Class) Result.class);
+    }
+
+    @Override
+    public void serialize(Result<?> result, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(result);
+        gen.writeFieldName(CODE);
+        if (result.getCode() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(result.getCode());
+        }
+        gen.writeFieldName(MESSAGE);
+        String message = result.getMessage();
+        if (message == null) {
+            gen.writeNull();
+        } else if (Result.SUCCESS_MESSAGE.equals(message)) {
+            gen.writeString(SUCCESS_MESSAGE);
+        } else {
+            gen.writeString(message);
+        }
+        gen.writeFieldName(DATA);
+        provider.defaultSerializeValue(result.getData(), gen);
+        gen.writeEndObject();
+    }
+}
@@ -3,9 +3,16 @@ package com.example.System.config;
 import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.example.System.interceptor.SlowQueryInterceptor;
+import com.example.System.interceptor.SqlStatsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 public class MyBatisPlusConfig {
 
@@ -19,4 +26,26 @@ public class MyBatisPlusConfig {
         interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.MYSQL));
         return interceptor;
     }
-}
\ No newline at end of file
+
+    /**
+     * 按请求统计SQL条数与耗时，检测N+1查询
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.sql-stats.enabled", havingValue = "true", matchIfMissing = true)
+    public SqlStatsInterceptor sqlStatsInterceptor() {
+        return new SqlStatsInterceptor();
+    }
+
+    /**
+     * 慢查询日志与按语句的耗时直方图
+     * @param threshold 超过该耗时的语句全部记录
+     * @param sampleRate 未超过阈值的语句的抽样记录比例
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+    public SlowQueryInterceptor slowQueryInterceptor(MeterRegistry meterRegistry,
+                                                     @Value("${app.slow-query.threshold:200ms}") Duration threshold,
+                                                     @Value("${app.slow-query.sample-rate:0.001}") double sampleRate) {
+        return new SlowQueryInterceptor(meterRegistry, threshold, sampleRate);
+    }
+}
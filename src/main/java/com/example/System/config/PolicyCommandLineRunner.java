@@ -0,0 +1,67 @@
+package com.example.System.config;
+
+import com.example.System.dto.PolicyApplyResult;
+import com.example.System.dto.PolicyDocument;
+import com.example.System.service.PolicyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+
+/**
+ * 命令行应用策略文件
+ * 指定app.policy.file时启动后应用该文件，完成后退出（app.policy.exit-after-apply=false时继续运行）：
+ * java -jar System.jar --spring.main.web-application-type=none --app.policy.file=policy.json [--app.policy.dry-run=true] [--app.policy.prune=true]
+ */
+@Component
+@ConditionalOnProperty(name = "app.policy.file")
+public class PolicyCommandLineRunner implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyCommandLineRunner.class);
+
+    @Autowired
+    private PolicyService policyService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Value("${app.policy.file}")
+    private String file;
+
+    @Value("${app.policy.dry-run:false}")
+    private boolean dryRun;
+
+    @Value("${app.policy.prune:false}")
+    private boolean prune;
+
+    @Value("${app.policy.exit-after-apply:true}")
+    private boolean exitAfterApply;
+
+    @Override
+    public void run(String... args) {
+        int exitCode = 0;
+        try {
+            PolicyDocument document = objectMapper.readValue(new File(file), PolicyDocument.class);
+            PolicyApplyResult result = policyService.apply(document, dryRun, prune);
+            logger.info("策略文件应用完成: file={}, result={}", file, result);
+        } catch (Exception e) {
+            logger.error("策略文件应用失败: file={}", file, e);
+            exitCode = 1;
+        }
+        if (exitAfterApply) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(applicationContext, () -> code));
+        }
+    }
+}
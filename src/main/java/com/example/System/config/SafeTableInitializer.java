@@ -69,6 +69,14 @@ public class SafeTableInitializer {
                 logger.info("用户角色关系表已存在，跳过创建");
             }
             
+            // 检查并创建角色继承关系表
+            if (!existingTables.contains("role_inherit")) {
+                logger.info("角色继承关系表不存在，开始创建...");
+                createRoleInheritTable();
+            } else {
+                logger.info("角色继承关系表已存在，跳过创建");
+            }
+            
             // 初始化默认数据
             initializeDefaultData();
             
@@ -135,6 +143,19 @@ public class SafeTableInitializer {
                 ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户角色关系表'");
     }
 
+    private void createRoleInheritTable() {
+        jdbcTemplate.execute("CREATE TABLE `role_inherit` (" +
+                "`id` bigint NOT NULL AUTO_INCREMENT COMMENT '主键ID'," +
+                "`role_id` bigint NOT NULL COMMENT '上级角色ID'," +
+                "`inherit_role_id` bigint NOT NULL COMMENT '被继承的下级角色ID'," +
+                "`create_time` datetime DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间'," +
+                "`update_time` datetime DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'," +
+                "`deleted` tinyint DEFAULT '0' COMMENT '是否删除：0-未删除，1-已删除'," +
+                "PRIMARY KEY (`id`)," +
+                "UNIQUE KEY `uk_role_inherit` (`role_id`,`inherit_role_id`)" +
+                ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='角色继承关系表'");
+    }
+
     private void initializeDefaultData() {
         try {
             // 插入默认角色
@@ -160,7 +181,8 @@ public class SafeTableInitializer {
                     "('权限更新', 'permission:update', 'button', '/permission/update', '更新权限')," +
                     "('权限删除', 'permission:delete', 'button', '/permission/delete', '删除权限')," +
                     "('权限管理', 'permission:manage', 'menu', '/permission/**', '管理权限')," +
-                    "('用户角色管理', 'user:role:manage', 'menu', '/user-role/**', '管理用户角色关系')");
+                    "('用户角色管理', 'user:role:manage', 'menu', '/user-role/**', '管理用户角色关系')," +
+                    "('批量鉴权', 'authz:check', 'api', '/authz/check', '下游服务批量判定用户权限')");
 
             // 为admin角色分配所有权限
             jdbcTemplate.update("INSERT IGNORE INTO `role_permission` (`role_id`, `permission_id`) " +
@@ -0,0 +1,44 @@
+package com.example.System.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 虚拟线程配置
+ * 开启后Tomcat为每个请求创建一个虚拟线程，请求阻塞在MyBatis/JDBC上时不再占用平台线程，
+ * 并发请求数只受数据库连接池限制。需要Java 21运行（java21 profile），Java 17下启动失败。
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        logger.info("Tomcat请求处理使用虚拟线程");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    /**
+     * 项目仍以Java 17为基线编译，运行时通过反射获取虚拟线程执行器
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("app.virtual-threads.enabled需要Java 21及以上版本运行，当前版本: "
+                    + Runtime.version(), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("创建虚拟线程执行器失败", e);
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.example.System.common.Result;
 import com.example.System.dto.LoginRequest;
 import com.example.System.dto.LoginResponse;
 import com.example.System.entity.User;
+import com.example.System.security.LoginRateLimiter;
+import com.example.System.security.PasswordHashExecutor;
 import com.example.System.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,11 +15,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/auth")
 @Tag(name = "认证管理", description = "用户登录、注册和认证相关接口")
@@ -28,48 +38,83 @@ public class AuthController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private PasswordHashExecutor passwordHashExecutor;
+
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
     @Operation(summary = "用户登录", description = "根据用户名和密码进行身份验证，成功后返回JWT令牌")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "登录成功", content = @Content(schema = @Schema(implementation = Result.class))),
-            @ApiResponse(responseCode = "500", description = "登录失败", content = @Content(schema = @Schema(implementation = Result.class)))
+            @ApiResponse(responseCode = "500", description = "登录失败", content = @Content(schema = @Schema(implementation = Result.class))),
+            @ApiResponse(responseCode = "429", description = "登录尝试过于频繁，按Retry-After稍后重试", content = @Content(schema = @Schema(implementation = Result.class))),
+            @ApiResponse(responseCode = "503", description = "登录请求过多，按Retry-After稍后重试", content = @Content(schema = @Schema(implementation = Result.class)))
     })
     @PostMapping("/login")
-    public Result<LoginResponse> login(@io.swagger.v3.oas.annotations.parameters.RequestBody(
+    public CompletableFuture<ResponseEntity<Result<LoginResponse>>> login(@io.swagger.v3.oas.annotations.parameters.RequestBody(
             description = "登录请求信息", required = true, content = @Content(schema = @Schema(implementation = LoginRequest.class))
-    ) @RequestBody LoginRequest loginRequest) {
-        logger.info("用户登录请求: username={}", loginRequest.getUsername());
+    ) @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        String username = loginRequest.getUsername();
+        logger.info("用户登录请求: username={}", username);
+        // 在查询用户和计算BCrypt之前限流
+        long retryAfter = loginRateLimiter.tryAcquire(username, request.getRemoteAddr());
+        if (retryAfter > 0) {
+            logger.warn("用户登录被限流: username={}, ip={}, retryAfter={}s", username, request.getRemoteAddr(), retryAfter);
+            return CompletableFuture.completedFuture(
+                    reject(HttpStatus.TOO_MANY_REQUESTS, retryAfter, "登录尝试过于频繁，请稍后重试"));
+        }
         try {
-            LoginResponse response = userService.login(loginRequest);
-            logger.info("用户登录成功: username={}, userId={}", loginRequest.getUsername(), response.getUserId());
-            return Result.success(response);
+            return userService.login(loginRequest).handle((response, e) -> {
+                if (e != null) {
+                    loginRateLimiter.onFailure(username);
+                    logger.error("用户登录失败: username={}, error={}", username, unwrap(e).getMessage());
+                    return ResponseEntity.ok(Result.error(unwrap(e).getMessage()));
+                }
+                loginRateLimiter.onSuccess(username);
+                logger.info("用户登录成功: username={}, userId={}", username, response.getUserId());
+                return ResponseEntity.ok(Result.success(response));
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("用户登录被拒绝，密码哈希队列已满: username={}", username);
+            return CompletableFuture.completedFuture(busy());
         } catch (Exception e) {
-            logger.error("用户登录失败: username={}, error={}", loginRequest.getUsername(), e.getMessage());
-            return Result.error(e.getMessage());
+            loginRateLimiter.onFailure(username);
+            logger.error("用户登录失败: username={}, error={}", username, e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.ok(Result.error(e.getMessage())));
         }
     }
 
     @Operation(summary = "用户注册", description = "创建新用户账户")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "注册成功", content = @Content(schema = @Schema(implementation = Result.class))),
-            @ApiResponse(responseCode = "500", description = "注册失败", content = @Content(schema = @Schema(implementation = Result.class)))
+            @ApiResponse(responseCode = "500", description = "注册失败", content = @Content(schema = @Schema(implementation = Result.class))),
+            @ApiResponse(responseCode = "503", description = "请求过多，按Retry-After稍后重试", content = @Content(schema = @Schema(implementation = Result.class)))
     })
     @PostMapping("/register")
-    public Result<String> register(@io.swagger.v3.oas.annotations.parameters.RequestBody(
+    public CompletableFuture<ResponseEntity<Result<String>>> register(@io.swagger.v3.oas.annotations.parameters.RequestBody(
             description = "用户注册信息", required = true, content = @Content(schema = @Schema(implementation = User.class))
     ) @RequestBody User user) {
         logger.info("用户注册请求: username={}", user.getUsername());
         try {
-            boolean success = userService.register(user);
-            if (success) {
-                logger.info("用户注册成功: username={}", user.getUsername());
-                return Result.success("注册成功");
-            } else {
+            return userService.register(user).handle((success, e) -> {
+                if (e != null) {
+                    logger.error("用户注册异常: username={}, error={}", user.getUsername(), unwrap(e).getMessage());
+                    return ResponseEntity.ok(Result.error(unwrap(e).getMessage()));
+                }
+                if (success) {
+                    logger.info("用户注册成功: username={}", user.getUsername());
+                    return ResponseEntity.ok(Result.success("注册成功"));
+                }
                 logger.warn("用户注册失败: username={}", user.getUsername());
-                return Result.error("注册失败");
-            }
+                return ResponseEntity.ok(Result.error("注册失败"));
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("用户注册被拒绝，密码哈希队列已满: username={}", user.getUsername());
+            return CompletableFuture.completedFuture(busy());
         } catch (Exception e) {
             logger.error("用户注册异常: username={}, error={}", user.getUsername(), e.getMessage());
-            return Result.error(e.getMessage());
+            return CompletableFuture.completedFuture(ResponseEntity.ok(Result.error(e.getMessage())));
         }
     }
 
@@ -97,4 +142,21 @@ public class AuthController {
             return Result.error(e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 密码哈希线程池已满时的响应
+     */
+    private <T> ResponseEntity<Result<T>> busy() {
+        return reject(HttpStatus.SERVICE_UNAVAILABLE, passwordHashExecutor.getRetryAfterSeconds(), "请求过多，请稍后重试");
+    }
+
+    private static <T> ResponseEntity<Result<T>> reject(HttpStatus status, long retryAfterSeconds, String message) {
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(Result.error(status.value(), message));
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+}
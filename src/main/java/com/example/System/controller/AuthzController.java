@@ -0,0 +1,59 @@
+package com.example.System.controller;
+
+import com.example.System.annotation.RequirePermission;
+import com.example.System.common.Result;
+import com.example.System.dto.AuthzCheckRequest;
+import com.example.System.dto.AuthzCheckResponse;
+import com.example.System.service.AuthzService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+
+@RestController
+@RequestMapping("/authz")
+@Tag(name = "批量鉴权", description = "供下游服务批量判定用户角色/权限")
+@RequirePermission(value = {"authz:check"})
+public class AuthzController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthzController.class);
+
+    @Autowired
+    private AuthzService authzService;
+
+    /**
+     * 单次请求允许的最大判定条目数
+     */
+    @Value("${app.authz.max-checks:1000}")
+    private int maxChecks;
+
+    @Operation(summary = "批量鉴权", description = "按@RequirePermission语义逐条判定，结果以位图返回")
+    @PostMapping("/check")
+    public Result<AuthzCheckResponse> check(@RequestBody AuthzCheckRequest request) {
+        List<AuthzCheckRequest.Check> checks = request.getChecks();
+        if (checks == null || checks.isEmpty()) {
+            return Result.error(400, "判定条目不能为空");
+        }
+        if (checks.size() > maxChecks) {
+            return Result.error(400, "判定条目过多，单次最多" + maxChecks + "条");
+        }
+        logger.info("批量鉴权请求: count={}", checks.size());
+        try {
+            BitSet bits = authzService.check(checks);
+            // BitSet.toByteArray会省略末尾的0字节，补齐到条目数对应的长度
+            byte[] bytes = Arrays.copyOf(bits.toByteArray(), (checks.size() + 7) / 8);
+            return Result.success(AuthzCheckResponse.build(checks.size(), Base64.getEncoder().encodeToString(bytes)));
+        } catch (Exception e) {
+            logger.error("批量鉴权异常: count={}, error={}", checks.size(), e.getMessage());
+            throw e;
+        }
+    }
+}
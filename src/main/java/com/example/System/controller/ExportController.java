@@ -0,0 +1,54 @@
+package com.example.System.controller;
+
+import com.example.System.annotation.RequirePermission;
+import com.example.System.common.Result;
+import com.example.System.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/export")
+@Tag(name = "数据导出", description = "以NDJSON格式流式导出用户与RBAC数据，用于审计")
+@RequirePermission(roles = {"admin"})
+public class ExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    @Autowired
+    private ExportService exportService;
+
+    @Operation(summary = "导出数据表", description = "按ID升序逐行输出，包含已逻辑删除的行；中断后以最后收到的ID作为after参数续传。"
+            + "可选表: users、user-roles、roles、permissions、role-permissions")
+    @GetMapping("/{table}")
+    public Result<Void> export(
+            @PathVariable String table,
+            @Parameter(description = "只导出ID大于该值的行") @RequestParam(required = false) Long after,
+            HttpServletResponse response) throws IOException {
+        logger.info("导出数据请求: table={}, after={}", table, after);
+        if (!exportService.tables().contains(table)) {
+            return Result.error(400, "不支持导出的表: " + table + "，可选: " + String.join(", ", exportService.tables()));
+        }
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + table + ".ndjson\"");
+        try {
+            exportService.export(table, after, response.getOutputStream());
+            return null;
+        } catch (Exception e) {
+            // 响应已开始输出，无法再返回错误结果，客户端按最后一行的ID续传
+            logger.error("导出数据异常: table={}, after={}, error={}", table, after, e.getMessage());
+            throw e;
+        }
+    }
+}
@@ -1,17 +1,19 @@
 package com.example.System.controller;
 
 import com.example.System.annotation.RequirePermission;
+import com.example.System.common.PageResult;
 import com.example.System.common.Result;
 import com.example.System.entity.Permission;
+import com.example.System.security.RbacETags;
 import com.example.System.service.PermissionService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/permission")
@@ -24,14 +26,32 @@ public class PermissionController {
     @Autowired
     private PermissionService permissionService;
 
-    @Operation(summary = "获取所有权限")
+    @Autowired
+    private RbacETags rbacETags;
+
+    @Operation(summary = "获取权限列表", description = "默认游标分页，传入page时使用偏移分页并返回总数")
     @GetMapping("/list")
-    public Result<List<Permission>> getAllPermissions() {
-        logger.info("获取所有权限请求");
+    public Result<PageResult<Permission>> getAllPermissions(
+            @Parameter(description = "权限代码前缀") @RequestParam(required = false) String permissionCode,
+            @Parameter(description = "资源类型") @RequestParam(required = false) String resourceType,
+            @Parameter(description = "父权限ID") @RequestParam(required = false) Long parentId,
+            @Parameter(description = "上一页返回的nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "页码，指定时使用偏移分页") @RequestParam(required = false) Integer page,
+            @Parameter(description = "每页条数") @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        // 权限目录未变化且客户端已获取过同一页时直接返回304
+        if (webRequest.checkNotModified(rbacETags.permissions(permissionCode, resourceType, parentId, cursor, page, size))) {
+            return null;
+        }
+        logger.info("获取权限列表请求: cursor={}, page={}, size={}", cursor, page, size);
         try {
-            List<Permission> permissions = permissionService.list();
-            logger.info("获取所有权限成功，共{}个权限", permissions.size());
+            PageResult<Permission> permissions = permissionService.pagePermissions(permissionCode, resourceType,
+                    parentId, cursor, page, size);
+            logger.info("获取权限列表成功，本页{}个权限", permissions.getRecords().size());
             return Result.success(permissions);
+        } catch (IllegalArgumentException e) {
+            logger.warn("获取权限列表失败: {}", e.getMessage());
+            return Result.error(400, e.getMessage());
         } catch (Exception e) {
             logger.error("获取所有权限异常: {}", e.getMessage());
             throw e;
@@ -43,7 +63,7 @@ public class PermissionController {
     public Result<String> createPermission(@RequestBody Permission permission) {
         logger.info("创建权限请求: permissionCode={}", permission.getPermissionCode());
         try {
-            boolean success = permissionService.save(permission);
+            boolean success = permissionService.createPermission(permission);
             if (success) {
                 logger.info("创建权限成功: permissionCode={}", permission.getPermissionCode());
                 return Result.success("权限创建成功");
@@ -63,7 +83,7 @@ public class PermissionController {
         logger.info("更新权限请求: permissionId={}", id);
         try {
             permission.setId(id);
-            boolean success = permissionService.updateById(permission);
+            boolean success = permissionService.updatePermission(permission);
             if (success) {
                 logger.info("更新权限成功: permissionId={}", id);
                 return Result.success("权限更新成功");
@@ -82,7 +102,7 @@ public class PermissionController {
     public Result<String> deletePermission(@PathVariable Long id) {
         logger.info("删除权限请求: permissionId={}", id);
         try {
-            boolean success = permissionService.removeById(id);
+            boolean success = permissionService.deletePermission(id);
             if (success) {
                 logger.info("删除权限成功: permissionId={}", id);
                 return Result.success("权限删除成功");
@@ -0,0 +1,54 @@
+package com.example.System.controller;
+
+import com.example.System.annotation.RequirePermission;
+import com.example.System.common.Result;
+import com.example.System.dto.PolicyApplyResult;
+import com.example.System.dto.PolicyDocument;
+import com.example.System.service.PolicyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/policy")
+@Tag(name = "策略管理", description = "声明式导入/导出角色、权限与授权")
+@RequirePermission(roles = {"admin"})
+public class PolicyController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyController.class);
+
+    @Autowired
+    private PolicyService policyService;
+
+    @Operation(summary = "应用策略", description = "与当前数据做集合差异，在一个事务中只写入新增、修改和删除的部分")
+    @PostMapping("/apply")
+    public Result<PolicyApplyResult> apply(
+            @RequestBody PolicyDocument document,
+            @Parameter(description = "只计算差异，不写入") @RequestParam(defaultValue = "false") boolean dryRun,
+            @Parameter(description = "删除文档中未出现的角色和权限") @RequestParam(defaultValue = "false") boolean prune) {
+        logger.info("应用策略请求: dryRun={}, prune={}", dryRun, prune);
+        try {
+            PolicyApplyResult result = policyService.apply(document, dryRun, prune);
+            return Result.success(result);
+        } catch (Exception e) {
+            logger.error("应用策略异常: error={}", e.getMessage());
+            throw e;
+        }
+    }
+
+    @Operation(summary = "导出策略", description = "导出当前全部角色、权限与授权，可直接作为应用策略的输入")
+    @GetMapping("/export")
+    public Result<PolicyDocument> export() {
+        logger.info("导出策略请求");
+        try {
+            return Result.success(policyService.export());
+        } catch (Exception e) {
+            logger.error("导出策略异常: error={}", e.getMessage());
+            throw e;
+        }
+    }
+}
@@ -1,17 +1,19 @@
 package com.example.System.controller;
 
 import com.example.System.annotation.RequirePermission;
+import com.example.System.common.PageResult;
 import com.example.System.common.Result;
 import com.example.System.entity.Role;
+import com.example.System.security.RbacETags;
 import com.example.System.service.RoleService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/role")
@@ -24,14 +26,29 @@ public class RoleController {
     @Autowired
     private RoleService roleService;
 
-    @Operation(summary = "获取所有角色")
+    @Autowired
+    private RbacETags rbacETags;
+
+    @Operation(summary = "获取角色列表", description = "默认游标分页，传入page时使用偏移分页并返回总数")
     @GetMapping("/list")
-    public Result<List<Role>> getAllRoles() {
-        logger.info("获取所有角色请求");
+    public Result<PageResult<Role>> getAllRoles(
+            @Parameter(description = "角色代码前缀") @RequestParam(required = false) String roleCode,
+            @Parameter(description = "上一页返回的nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "页码，指定时使用偏移分页") @RequestParam(required = false) Integer page,
+            @Parameter(description = "每页条数") @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        // 角色目录未变化且客户端已获取过同一页时直接返回304
+        if (webRequest.checkNotModified(rbacETags.roles(roleCode, cursor, page, size))) {
+            return null;
+        }
+        logger.info("获取角色列表请求: cursor={}, page={}, size={}", cursor, page, size);
         try {
-            List<Role> roles = roleService.list();
-            logger.info("获取所有角色成功，共{}个角色", roles.size());
+            PageResult<Role> roles = roleService.pageRoles(roleCode, cursor, page, size);
+            logger.info("获取角色列表成功，本页{}个角色", roles.getRecords().size());
             return Result.success(roles);
+        } catch (IllegalArgumentException e) {
+            logger.warn("获取角色列表失败: {}", e.getMessage());
+            return Result.error(400, e.getMessage());
         } catch (Exception e) {
             logger.error("获取所有角色异常: {}", e.getMessage());
             throw e;
@@ -43,7 +60,7 @@ public class RoleController {
     public Result<String> createRole(@RequestBody Role role) {
         logger.info("创建角色请求: roleCode={}", role.getRoleCode());
         try {
-            boolean success = roleService.save(role);
+            boolean success = roleService.createRole(role);
             if (success) {
                 logger.info("创建角色成功: roleCode={}", role.getRoleCode());
                 return Result.success("角色创建成功");
@@ -63,7 +80,7 @@ public class RoleController {
         logger.info("更新角色请求: roleId={}", id);
         try {
             role.setId(id);
-            boolean success = roleService.updateById(role);
+            boolean success = roleService.updateRole(role);
             if (success) {
                 logger.info("更新角色成功: roleId={}", id);
                 return Result.success("角色更新成功");
@@ -82,7 +99,7 @@ public class RoleController {
     public Result<String> deleteRole(@PathVariable Long id) {
         logger.info("删除角色请求: roleId={}", id);
         try {
-            boolean success = roleService.removeById(id);
+            boolean success = roleService.deleteRole(id);
             if (success) {
                 logger.info("删除角色成功: roleId={}", id);
                 return Result.success("角色删除成功");
@@ -95,4 +112,46 @@ public class RoleController {
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "新增角色继承")
+    @PostMapping("/inherit")
+    public Result<String> addRoleInherit(
+            @Parameter(description = "上级角色ID") @RequestParam Long roleId,
+            @Parameter(description = "被继承的下级角色ID") @RequestParam Long inheritRoleId) {
+        logger.info("新增角色继承请求: roleId={}, inheritRoleId={}", roleId, inheritRoleId);
+        try {
+            boolean success = roleService.addRoleInherit(roleId, inheritRoleId);
+            if (success) {
+                logger.info("新增角色继承成功: roleId={}, inheritRoleId={}", roleId, inheritRoleId);
+                return Result.success("角色继承新增成功");
+            } else {
+                logger.warn("新增角色继承失败: roleId={}, inheritRoleId={}", roleId, inheritRoleId);
+                return Result.error("角色继承新增失败");
+            }
+        } catch (Exception e) {
+            logger.error("新增角色继承异常: roleId={}, inheritRoleId={}, error={}", roleId, inheritRoleId, e.getMessage());
+            throw e;
+        }
+    }
+
+    @Operation(summary = "删除角色继承")
+    @DeleteMapping("/inherit")
+    public Result<String> removeRoleInherit(
+            @Parameter(description = "上级角色ID") @RequestParam Long roleId,
+            @Parameter(description = "被继承的下级角色ID") @RequestParam Long inheritRoleId) {
+        logger.info("删除角色继承请求: roleId={}, inheritRoleId={}", roleId, inheritRoleId);
+        try {
+            boolean success = roleService.removeRoleInherit(roleId, inheritRoleId);
+            if (success) {
+                logger.info("删除角色继承成功: roleId={}, inheritRoleId={}", roleId, inheritRoleId);
+                return Result.success("角色继承删除成功");
+            } else {
+                logger.warn("删除角色继承失败: roleId={}, inheritRoleId={}", roleId, inheritRoleId);
+                return Result.error("角色继承删除失败");
+            }
+        } catch (Exception e) {
+            logger.error("删除角色继承异常: roleId={}, inheritRoleId={}, error={}", roleId, inheritRoleId, e.getMessage());
+            throw e;
+        }
+    }
+}
@@ -1,18 +1,24 @@
 package com.example.System.controller;
 
 import com.example.System.annotation.RequirePermission;
+import com.example.System.common.PageResult;
 import com.example.System.common.Result;
+import com.example.System.dto.UserImportProgress;
 import com.example.System.entity.User;
+import com.example.System.service.UserImportService;
 import com.example.System.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/user")
@@ -24,17 +30,26 @@ public class UserController {
     @Autowired
     private UserService userService;
 
-    @Operation(summary = "获取用户列表")
+    @Autowired
+    private UserImportService userImportService;
+
+    @Operation(summary = "获取用户列表", description = "默认游标分页，传入page时使用偏移分页并返回总数")
     @GetMapping("/list")
     @RequirePermission(value = {"user:view"})
-    public Result<List<User>> getAllUsers() {
-        logger.info("获取用户列表请求");
+    public Result<PageResult<User>> getAllUsers(
+            @Parameter(description = "用户名前缀") @RequestParam(required = false) String username,
+            @Parameter(description = "用户角色") @RequestParam(required = false) String role,
+            @Parameter(description = "上一页返回的nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "页码，指定时使用偏移分页") @RequestParam(required = false) Integer page,
+            @Parameter(description = "每页条数") @RequestParam(defaultValue = "20") int size) {
+        logger.info("获取用户列表请求: cursor={}, page={}, size={}", cursor, page, size);
         try {
-            List<User> users = userService.list();
-            // 不返回密码
-            users.forEach(user -> user.setPassword(null));
-            logger.info("获取用户列表成功，共{}个用户", users.size());
+            PageResult<User> users = userService.pageUsers(username, role, cursor, page, size);
+            logger.info("获取用户列表成功，本页{}个用户", users.getRecords().size());
             return Result.success(users);
+        } catch (IllegalArgumentException e) {
+            logger.warn("获取用户列表失败: {}", e.getMessage());
+            return Result.error(400, e.getMessage());
         } catch (Exception e) {
             logger.error("获取用户列表异常: {}", e.getMessage());
             throw e;
@@ -68,7 +83,7 @@ public class UserController {
     public Result<String> createUser(@RequestBody User user) {
         logger.info("创建用户请求: username={}", user.getUsername());
         try {
-            boolean success = userService.register(user);
+            boolean success = userService.register(user).join();
             if (success) {
                 logger.info("创建用户成功: username={}", user.getUsername());
                 return Result.success("用户创建成功");
@@ -76,6 +91,12 @@ public class UserController {
                 logger.warn("创建用户失败: username={}", user.getUsername());
                 return Result.error("用户创建失败");
             }
+        } catch (RejectedExecutionException e) {
+            logger.warn("创建用户被拒绝，密码哈希队列已满: username={}", user.getUsername());
+            return Result.error(503, "请求过多，请稍后重试");
+        } catch (CompletionException e) {
+            logger.error("创建用户异常: username={}, error={}", user.getUsername(), e.getCause().getMessage());
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
         } catch (Exception e) {
             logger.error("创建用户异常: username={}, error={}", user.getUsername(), e.getMessage());
             throw e;
@@ -122,4 +143,40 @@ public class UserController {
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "批量导入用户", description = "请求体为CSV(首行为表头，必须包含username、password列)或NDJSON(每行一个用户对象)，"
+            + "未指定format时按Content-Type判断。导入在后台执行，返回任务进度，通过任务ID查询后续进度")
+    @PostMapping("/import")
+    @RequirePermission(value = {"user:create"}, roles = {"admin"})
+    public Result<UserImportProgress> importUsers(
+            @Parameter(description = "文件格式: csv或ndjson") @RequestParam(required = false) String format,
+            HttpServletRequest request) throws IOException {
+        if (format == null || format.isEmpty()) {
+            String contentType = request.getContentType();
+            format = contentType != null && contentType.contains("csv") ? "csv" : "ndjson";
+        }
+        logger.info("批量导入用户请求: format={}, contentLength={}", format, request.getContentLengthLong());
+        try {
+            String jobId = userImportService.submit(request.getInputStream(), format);
+            return Result.success(userImportService.getProgress(jobId));
+        } catch (IllegalArgumentException e) {
+            logger.warn("批量导入用户失败: {}", e.getMessage());
+            return Result.error(400, e.getMessage());
+        } catch (Exception e) {
+            logger.error("批量导入用户异常: error={}", e.getMessage());
+            throw e;
+        }
+    }
+
+    @Operation(summary = "查询导入进度", description = "包含已处理、成功、失败行数以及失败行的行号和原因")
+    @GetMapping("/import/{jobId}")
+    @RequirePermission(value = {"user:create"}, roles = {"admin"})
+    public Result<UserImportProgress> getImportProgress(@Parameter(description = "导入任务ID") @PathVariable String jobId) {
+        UserImportProgress progress = userImportService.getProgress(jobId);
+        if (progress == null) {
+            logger.warn("查询导入进度失败，任务不存在或已过期: jobId={}", jobId);
+            return Result.error(404, "导入任务不存在或已过期");
+        }
+        return Result.success(progress);
+    }
+}
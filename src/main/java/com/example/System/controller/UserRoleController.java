@@ -2,8 +2,12 @@ package com.example.System.controller;
 
 import com.example.System.annotation.RequirePermission;
 import com.example.System.common.Result;
+import com.example.System.dto.UserRoleBatchRequest;
+import com.example.System.dto.UserRoleBatchResponse;
+import com.example.System.dto.UserRolePair;
 import com.example.System.entity.Permission;
 import com.example.System.entity.Role;
+import com.example.System.security.RbacETags;
 import com.example.System.service.PermissionService;
 import com.example.System.service.RoleService;
 import com.example.System.service.UserRoleService;
@@ -14,6 +18,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -34,6 +39,9 @@ public class UserRoleController {
     @Autowired
     private PermissionService permissionService;
 
+    @Autowired
+    private RbacETags rbacETags;
+
     @Operation(summary = "获取用户的角色")
     @GetMapping("/user/{userId}/roles")
     public Result<List<Role>> getUserRoles(@Parameter(description = "用户ID") @PathVariable Long userId) {
@@ -50,7 +58,12 @@ public class UserRoleController {
 
     @Operation(summary = "获取用户的权限")
     @GetMapping("/user/{userId}/permissions")
-    public Result<List<Permission>> getUserPermissions(@Parameter(description = "用户ID") @PathVariable Long userId) {
+    public Result<List<Permission>> getUserPermissions(@Parameter(description = "用户ID") @PathVariable Long userId,
+                                                       WebRequest webRequest) {
+        // 用户的策略版本未变化时直接返回304
+        if (webRequest.checkNotModified(rbacETags.userPermissions(userId))) {
+            return null;
+        }
         logger.info("获取用户权限请求: userId={}", userId);
         try {
             List<Permission> permissions = permissionService.getPermissionsByUserId(userId);
@@ -69,13 +82,13 @@ public class UserRoleController {
             @Parameter(description = "角色ID") @RequestParam Long roleId) {
         logger.info("为用户分配角色请求: userId={}, roleId={}", userId, roleId);
         try {
-            boolean success = userRoleService.assignUserRole(userId, roleId);
-            if (success) {
+            boolean changed = userRoleService.assignUserRole(userId, roleId);
+            if (changed) {
                 logger.info("为用户分配角色成功: userId={}, roleId={}", userId, roleId);
                 return Result.success("角色分配成功");
             } else {
-                logger.warn("为用户分配角色失败: userId={}, roleId={}", userId, roleId);
-                return Result.error("角色分配失败");
+                logger.info("用户已拥有该角色，未做改动: userId={}, roleId={}", userId, roleId);
+                return Result.success("用户已拥有该角色");
             }
         } catch (Exception e) {
             logger.error("为用户分配角色异常: userId={}, roleId={}, error={}", userId, roleId, e.getMessage());
@@ -103,4 +116,40 @@ public class UserRoleController {
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "批量为用户分配角色", description = "幂等，已分配的用户角色对不做改动，逐对返回处理结果")
+    @PostMapping("/batch-assign")
+    public Result<UserRoleBatchResponse> batchAssignRoles(@RequestBody UserRoleBatchRequest request) {
+        List<UserRolePair> pairs = request.getPairs();
+        if (pairs == null || pairs.isEmpty()) {
+            return Result.error(400, "用户角色对不能为空");
+        }
+        logger.info("批量分配用户角色请求: count={}", pairs.size());
+        try {
+            UserRoleBatchResponse response = UserRoleBatchResponse.build(userRoleService.assignUserRoles(pairs));
+            logger.info("批量分配用户角色完成: count={}, changed={}", pairs.size(), response.getChanged());
+            return Result.success(response);
+        } catch (Exception e) {
+            logger.error("批量分配用户角色异常: count={}, error={}", pairs.size(), e.getMessage());
+            throw e;
+        }
+    }
+
+    @Operation(summary = "批量取消用户角色", description = "幂等，未分配的用户角色对不做改动，逐对返回处理结果")
+    @PostMapping("/batch-remove")
+    public Result<UserRoleBatchResponse> batchRemoveRoles(@RequestBody UserRoleBatchRequest request) {
+        List<UserRolePair> pairs = request.getPairs();
+        if (pairs == null || pairs.isEmpty()) {
+            return Result.error(400, "用户角色对不能为空");
+        }
+        logger.info("批量取消用户角色请求: count={}", pairs.size());
+        try {
+            UserRoleBatchResponse response = UserRoleBatchResponse.build(userRoleService.removeUserRoles(pairs));
+            logger.info("批量取消用户角色完成: count={}, changed={}", pairs.size(), response.getChanged());
+            return Result.success(response);
+        } catch (Exception e) {
+            logger.error("批量取消用户角色异常: count={}, error={}", pairs.size(), e.getMessage());
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.System.dto;
+
+import com.example.System.annotation.RequirePermission;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Schema(description = "批量鉴权请求")
+public class AuthzCheckRequest {
+
+    @Schema(description = "待判定的条目，响应中按相同顺序逐位返回结果")
+    private List<Check> checks;
+
+    /**
+     * 单个判定条目，字段含义与{@link RequirePermission}一致
+     */
+    @Data
+    @Schema(description = "鉴权判定条目")
+    public static class Check {
+
+        @Schema(description = "用户ID", example = "1")
+        private Long userId;
+
+        @Schema(description = "所需权限代码", example = "[\"user:view\"]")
+        private String[] permissions;
+
+        @Schema(description = "所需角色代码，满足任一即可", example = "[\"admin\"]")
+        private String[] roles;
+
+        @Schema(description = "多个权限的逻辑关系，默认ANY", example = "ANY")
+        private RequirePermission.Logical logical;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.System.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+@Schema(description = "批量鉴权响应")
+public class AuthzCheckResponse {
+
+    @Schema(description = "判定条目数", example = "3")
+    private Integer count;
+
+    @Schema(description = "判定结果位图的Base64编码：第i个条目对应第i/8个字节的第i%8位(低位在前)，1为允许", example = "BQ==")
+    private String bits;
+
+    public static AuthzCheckResponse build(int count, String bits) {
+        AuthzCheckResponse response = new AuthzCheckResponse();
+        response.setCount(count);
+        response.setBits(bits);
+        return response;
+    }
+}
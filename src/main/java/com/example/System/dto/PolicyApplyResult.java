@@ -0,0 +1,39 @@
+package com.example.System.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+@Schema(description = "策略应用结果")
+public class PolicyApplyResult {
+
+    @Schema(description = "是否仅计算差异而未写入", example = "false")
+    private boolean dryRun;
+
+    @Schema(description = "新增角色数", example = "1")
+    private int rolesCreated;
+
+    @Schema(description = "修改角色数", example = "0")
+    private int rolesUpdated;
+
+    @Schema(description = "删除角色数（仅prune时）", example = "0")
+    private int rolesDeleted;
+
+    @Schema(description = "新增权限数", example = "3")
+    private int permissionsCreated;
+
+    @Schema(description = "修改权限数", example = "0")
+    private int permissionsUpdated;
+
+    @Schema(description = "删除权限数（仅prune时）", example = "0")
+    private int permissionsDeleted;
+
+    @Schema(description = "新增授权数", example = "120")
+    private int grantsAdded;
+
+    @Schema(description = "取消授权数", example = "4")
+    private int grantsRemoved;
+
+    @Schema(description = "耗时(毫秒)", example = "850")
+    private long elapsedMillis;
+}
@@ -0,0 +1,66 @@
+package com.example.System.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 声明式的完整RBAC策略
+ * 文档中列出的角色，其授权以grants为准（未出现在grants中即为无授权）
+ */
+@Data
+@Accessors(chain = true)
+@Schema(description = "RBAC策略文档")
+public class PolicyDocument {
+
+    @Schema(description = "角色列表")
+    private List<RoleSpec> roles;
+
+    @Schema(description = "权限列表")
+    private List<PermissionSpec> permissions;
+
+    @Schema(description = "角色代码 -> 权限代码列表", example = "{\"manager\": [\"user:view\", \"role:view\"]}")
+    private Map<String, List<String>> grants;
+
+    @Data
+    @Accessors(chain = true)
+    @Schema(description = "角色定义")
+    public static class RoleSpec {
+
+        @Schema(description = "角色代码", example = "manager")
+        private String roleCode;
+
+        @Schema(description = "角色名称", example = "普通管理员")
+        private String roleName;
+
+        @Schema(description = "角色描述", example = "普通管理员，拥有部分管理权限")
+        private String description;
+    }
+
+    @Data
+    @Accessors(chain = true)
+    @Schema(description = "权限定义")
+    public static class PermissionSpec {
+
+        @Schema(description = "权限代码", example = "user:view")
+        private String permissionCode;
+
+        @Schema(description = "权限名称", example = "用户查看")
+        private String permissionName;
+
+        @Schema(description = "资源类型", example = "menu")
+        private String resourceType;
+
+        @Schema(description = "资源URL", example = "/user/list")
+        private String resourceUrl;
+
+        @Schema(description = "父权限代码", example = "user:manage")
+        private String parentCode;
+
+        @Schema(description = "权限描述", example = "查看用户列表")
+        private String description;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.System.dto;
+
+import lombok.Data;
+
+/**
+ * 用户有效角色与权限的联表查询结果
+ * 每行对应一个(用户, 角色, 权限)组合，角色未授予任何权限时权限列为空
+ */
+@Data
+public class UserAuthorityRow {
+
+    private Long userId;
+
+    private Long roleId;
+
+    private String roleCode;
+
+    private Long permissionId;
+
+    private String permissionCode;
+}
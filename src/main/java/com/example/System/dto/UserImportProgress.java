@@ -0,0 +1,73 @@
+package com.example.System.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Accessors(chain = true)
+@Schema(description = "批量导入用户任务进度")
+public class UserImportProgress {
+
+    @Schema(description = "任务ID")
+    private String jobId;
+
+    @Schema(description = "任务状态")
+    private Status status;
+
+    @Schema(description = "已读取的数据行数（不含CSV表头和空行）", example = "200000")
+    private Long processed;
+
+    @Schema(description = "导入成功的行数", example = "199990")
+    private Long imported;
+
+    @Schema(description = "失败的行数", example = "10")
+    private Long failed;
+
+    @Schema(description = "失败行明细，最多保留app.user-import.max-errors条")
+    private List<RowError> errors;
+
+    @Schema(description = "任务失败时的原因")
+    private String message;
+
+    private LocalDateTime startTime;
+
+    private LocalDateTime finishTime;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        @Schema(description = "文件中的行号，从1开始", example = "42")
+        private Long line;
+
+        private String username;
+
+        private String message;
+    }
+
+    public enum Status {
+        /**
+         * 等待执行
+         */
+        PENDING,
+        /**
+         * 导入中
+         */
+        RUNNING,
+        /**
+         * 文件已全部处理，个别行可能失败
+         */
+        COMPLETED,
+        /**
+         * 任务中途终止
+         */
+        FAILED
+    }
+}
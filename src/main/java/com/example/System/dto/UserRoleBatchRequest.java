@@ -0,0 +1,14 @@
+package com.example.System.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Schema(description = "批量分配/取消用户角色请求")
+public class UserRoleBatchRequest {
+
+    @Schema(description = "用户角色对列表")
+    private List<UserRolePair> pairs;
+}
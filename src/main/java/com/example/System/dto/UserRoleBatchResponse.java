@@ -0,0 +1,56 @@
+package com.example.System.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Schema(description = "批量分配/取消用户角色响应")
+public class UserRoleBatchResponse {
+
+    @Schema(description = "实际发生变化的用户角色对数量", example = "2")
+    private Integer changed;
+
+    @Schema(description = "每个用户角色对的处理结果，与请求顺序一致")
+    private List<Outcome> outcomes;
+
+    public static UserRoleBatchResponse build(List<Outcome> outcomes) {
+        UserRoleBatchResponse response = new UserRoleBatchResponse();
+        response.setChanged((int) outcomes.stream()
+                .filter(outcome -> outcome == Outcome.ASSIGNED || outcome == Outcome.REMOVED).count());
+        response.setOutcomes(outcomes);
+        return response;
+    }
+
+    public enum Outcome {
+        /**
+         * 新分配（含恢复已取消的分配）
+         */
+        ASSIGNED,
+        /**
+         * 已经分配，未做改动
+         */
+        UNCHANGED,
+        /**
+         * 已取消分配
+         */
+        REMOVED,
+        /**
+         * 取消时分配关系不存在
+         */
+        NOT_ASSIGNED,
+        /**
+         * 用户不存在
+         */
+        USER_NOT_FOUND,
+        /**
+         * 角色不存在
+         */
+        ROLE_NOT_FOUND,
+        /**
+         * 用户ID或角色ID为空
+         */
+        INVALID
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.System.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Accessors(chain = true)
+@Schema(description = "用户角色对")
+public class UserRolePair {
+
+    @Schema(description = "用户ID", example = "1")
+    private Long userId;
+
+    @Schema(description = "角色ID", example = "1")
+    private Long roleId;
+}
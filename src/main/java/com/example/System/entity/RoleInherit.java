@@ -0,0 +1,42 @@
+package com.example.System.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDateTime;
+
+@Data
+@EqualsAndHashCode(callSuper = false)
+@Accessors(chain = true)
+@TableName("role_inherit")
+@Schema(description = "角色继承关系实体")
+public class RoleInherit {
+
+    @TableId(value = "id", type = IdType.AUTO)
+    @Schema(description = "主键ID", example = "1")
+    private Long id;
+
+    @TableField("role_id")
+    @Schema(description = "上级角色ID", example = "1")
+    private Long roleId;
+
+    @TableField("inherit_role_id")
+    @Schema(description = "被继承的下级角色ID", example = "2")
+    private Long inheritRoleId;
+
+    @TableField(value = "create_time", fill = FieldFill.INSERT)
+    @Schema(description = "创建时间", example = "2023-01-01T12:00:00")
+    private LocalDateTime createTime;
+
+    @TableField(value = "update_time", fill = FieldFill.INSERT_UPDATE)
+    @Schema(description = "更新时间", example = "2023-01-01T12:00:00")
+    private LocalDateTime updateTime;
+
+    @TableLogic
+    @TableField("deleted")
+    @Schema(description = "是否删除：0-未删除，1-已删除", example = "0")
+    private Integer deleted;
+}
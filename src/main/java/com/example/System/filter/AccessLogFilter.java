@@ -0,0 +1,199 @@
+package com.example.System.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * API访问日志
+ * 每个请求结束时生成一条访问记录放入无锁环形缓冲区，由后台线程批量格式化并写入API日志文件；
+ * 缓冲区满时丢弃记录并计数（access.log.dropped），请求线程不做任何日志IO。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    /**
+     * 只输出到API日志文件，见logback-spring.xml
+     */
+    private static final Logger accessLogger = LoggerFactory.getLogger("ACCESS_LOG");
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessLogFilter.class);
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.access-log.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.access-log.buffer-size:8192}")
+    private int bufferSize;
+
+    /**
+     * 每批最多写出的记录数
+     */
+    @Value("${app.access-log.batch-size:256}")
+    private int batchSize;
+
+    /**
+     * 缓冲区为空时后台线程的等待间隔
+     */
+    @Value("${app.access-log.flush-interval:200ms}")
+    private Duration flushInterval;
+
+    private AccessLogRingBuffer<AccessRecord> buffer;
+
+    private Counter dropped;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        buffer = new AccessLogRingBuffer<>(bufferSize);
+        dropped = Counter.builder("access.log.dropped").register(meterRegistry);
+        Gauge.builder("access.log.queue", buffer, AccessLogRingBuffer::size).register(meterRegistry);
+        running = true;
+        writer = new Thread(this::drainLoop, "access-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long startTime = System.currentTimeMillis();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // 异步请求在完成时才有最终的状态码
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        publish(request, response, startTime, start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                publish(request, response, startTime, start);
+            }
+        }
+    }
+
+    private void publish(HttpServletRequest request, HttpServletResponse response, long startTime, long start) {
+        AccessRecord record = new AccessRecord(startTime, System.nanoTime() - start, request.getMethod(),
+                request.getRequestURI(), response.getStatus(), request.getAttribute("userId"), request.getRemoteAddr());
+        if (!buffer.offer(record)) {
+            dropped.increment();
+        }
+    }
+
+    private void drainLoop() {
+        List<AccessRecord> batch = new ArrayList<>(batchSize);
+        StringBuilder lines = new StringBuilder(batchSize * 128);
+        while (true) {
+            boolean stopping = !running;
+            int drained = buffer.drainTo(batch, batchSize);
+            if (drained > 0) {
+                try {
+                    write(batch, lines);
+                } catch (Exception e) {
+                    logger.error("写入访问日志失败: {}", e.getMessage());
+                }
+                batch.clear();
+                lines.setLength(0);
+            }
+            if (drained < batchSize) {
+                if (stopping) {
+                    return;
+                }
+                LockSupport.parkNanos(flushInterval.toNanos());
+            }
+        }
+    }
+
+    /**
+     * 一批记录合并为一次日志调用，每条记录一行key=value
+     */
+    private static void write(List<AccessRecord> batch, StringBuilder lines) {
+        for (AccessRecord record : batch) {
+            if (!lines.isEmpty()) {
+                lines.append('\n');
+            }
+            lines.append(TIME_FORMAT.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(record.startTime),
+                            ZoneId.systemDefault())))
+                    .append(" method=").append(record.method)
+                    .append(" uri=").append(record.uri)
+                    .append(" status=").append(record.status)
+                    .append(" durationMs=").append(String.format("%.3f", record.nanos / 1_000_000.0))
+                    .append(" userId=").append(record.userId == null ? "-" : record.userId)
+                    .append(" ip=").append(record.ip);
+        }
+        accessLogger.info(lines.toString());
+    }
+
+    private record AccessRecord(long startTime, long nanos, String method, String uri, int status,
+                                Object userId, String ip) {
+    }
+}
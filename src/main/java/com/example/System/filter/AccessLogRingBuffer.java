@@ -0,0 +1,92 @@
+package com.example.System.filter;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界无锁环形缓冲区，多生产者单消费者
+ * 每个槽位带一个序号：生产者以CAS占用写入位置，写入元素后发布序号；消费者只按序号判断槽位是否可读。
+ * 缓冲区满时{@link #offer}立即返回false，生产者不会等待。
+ */
+final class AccessLogRingBuffer<E> {
+
+    private final int mask;
+
+    private final AtomicReferenceArray<E> slots;
+
+    /**
+     * 槽位序号：等于写入位置时可写，等于写入位置+1时可读
+     */
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * 只由消费者线程访问
+     */
+    private volatile long head;
+
+    AccessLogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 写入一个元素，缓冲区已满时返回false
+     */
+    boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (sequence < position) {
+                // 槽位还未被消费者释放，缓冲区已满
+                return false;
+            }
+            // 其他生产者已占用该位置，重试
+        }
+    }
+
+    /**
+     * 取出最多max个元素追加到batch，返回取出的个数，只能由单个消费者线程调用
+     */
+    int drainTo(List<E> batch, int max) {
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            batch.add(slots.get(index));
+            slots.set(index, null);
+            sequences.set(index, head + mask + 1);
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * 近似的待消费元素个数
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
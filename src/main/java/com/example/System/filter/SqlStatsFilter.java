@@ -0,0 +1,160 @@
+package com.example.System.filter;
+
+import com.example.System.interceptor.RequestSqlStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按请求统计SQL条数与数据库耗时
+ * 非prod环境通过响应头返回（见{@link SqlStatsResponseAdvice}）；指标sql.statements、sql.time按uri模板记录，
+ * 按app.sql-stats.sample-rate抽样；出现N+1嫌疑时不抽样，计入sql.n-plus-one并打印告警。
+ * 异步请求在异步分派时重新绑定统计，完成时才记录，包含线程池中执行的SQL。
+ * 排在访问日志之后、其余过滤器之前，后续过滤器中执行的SQL同样计入。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatsFilter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${app.sql-stats.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 同一SQL在一个请求内执行多少次视为N+1嫌疑
+     */
+    @Value("${app.sql-stats.n-plus-one-threshold:3}")
+    private int nPlusOneThreshold;
+
+    /**
+     * 指标抽样比例
+     */
+    @Value("${app.sql-stats.sample-rate:0.1}")
+    private double sampleRate;
+
+    private boolean headerEnabled;
+
+    @PostConstruct
+    public void init() {
+        headerEnabled = enabled && !environment.acceptsProfiles(Profiles.of("prod"));
+    }
+
+    /**
+     * 是否在响应头中返回统计
+     */
+    public boolean isHeaderEnabled() {
+        return headerEnabled;
+    }
+
+    public int getNPlusOneThreshold() {
+        return nPlusOneThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            // 异步分派：沿用初次分派创建的统计，结束时由初次分派注册的监听器记录
+            Object stats = request.getAttribute(RequestSqlStats.REQUEST_ATTRIBUTE);
+            if (stats instanceof RequestSqlStats) {
+                RequestSqlStats.bind((RequestSqlStats) stats);
+            }
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                RequestSqlStats.end();
+            }
+            return;
+        }
+        RequestSqlStats stats = RequestSqlStats.begin();
+        request.setAttribute(RequestSqlStats.REQUEST_ATTRIBUTE, stats);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestSqlStats.end();
+            if (request.isAsyncStarted()) {
+                // 异步请求的SQL在完成前还会继续累加
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        if (stats.getStatements() > 0) {
+                            record(request, stats);
+                        }
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else if (stats.getStatements() > 0) {
+                record(request, stats);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestSqlStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        List<String> suspects = stats.nPlusOneSuspects(nPlusOneThreshold);
+        if (!suspects.isEmpty()) {
+            Counter.builder("sql.n-plus-one").tag("uri", uri).register(meterRegistry).increment();
+            logger.warn("疑似N+1查询: {} {}, 共{}条SQL, 重复语句: {}", request.getMethod(), uri,
+                    stats.getStatements(), suspects);
+        }
+        if (ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            DistributionSummary.builder("sql.statements").tag("uri", uri).register(meterRegistry)
+                    .record(stats.getStatements());
+            Timer.builder("sql.time").tag("uri", uri).register(meterRegistry)
+                    .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.System.filter;
+
+import com.example.System.interceptor.RequestSqlStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.List;
+
+/**
+ * 非prod环境在响应头中返回本次请求的SQL统计
+ * 响应体写出后响应头即已提交，因此在写出响应体之前设置：
+ * X-Sql-Count（SQL条数）、X-Sql-Time-Ms（数据库耗时）、X-Sql-N-Plus-One（重复执行的语句）
+ */
+@ControllerAdvice
+public class SqlStatsResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Autowired
+    private SqlStatsFilter sqlStatsFilter;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return sqlStatsFilter.isHeaderEnabled();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats != null) {
+            response.getHeaders().set("X-Sql-Count", String.valueOf(stats.getStatements()));
+            response.getHeaders().set("X-Sql-Time-Ms", String.format("%.3f", stats.getNanos() / 1_000_000.0));
+            List<String> suspects = stats.nPlusOneSuspects(sqlStatsFilter.getNPlusOneThreshold());
+            if (!suspects.isEmpty()) {
+                response.getHeaders().set("X-Sql-N-Plus-One", String.join(", ", suspects));
+            }
+        }
+        return body;
+    }
+}
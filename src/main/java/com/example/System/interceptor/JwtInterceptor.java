@@ -1,34 +1,75 @@
 package com.example.System.interceptor;
 
-import com.example.System.annotation.RequirePermission;
-import com.example.System.entity.Permission;
-import com.example.System.entity.Role;
+import com.example.System.security.AuthorizationMetrics;
+import com.example.System.security.AuthorizationMetrics.Outcome;
+import com.example.System.security.AuthorizationMetrics.Stage;
+import com.example.System.security.AuthorizationPlan;
+import com.example.System.security.AuthorizationPlanRegistry;
+import com.example.System.security.EffectiveAuthorities;
+import com.example.System.security.PermissionEngine;
+import com.example.System.security.PolicyVersionRegistry;
+import com.example.System.security.TokenClaims;
 import com.example.System.service.PermissionService;
-import com.example.System.service.RoleService;
 import com.example.System.util.JwtUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 
-import java.lang.reflect.Method;
-import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 @Component
 public class JwtInterceptor implements HandlerInterceptor {
 
+    /**
+     * 固定的401/403响应体，启动时编码为UTF-8字节，拒绝请求时直接写入输出流
+     */
+    private static final byte[] MISSING_TOKEN = body(401, "未提供有效的token");
+
+    private static final byte[] INVALID_TOKEN = body(401, "token无效");
+
+    private static final byte[] STALE_TOKEN = body(401, "token权限信息已过期，请重新登录");
+
+    private static final byte[] VERIFY_FAILED = body(401, "token验证失败");
+
+    private static final byte[] MISSING_ROLE = body(403, "权限不足：缺少所需角色");
+
+    private static final byte[] MISSING_PERMISSION = body(403, "权限不足：缺少所需权限");
+
     @Autowired
     private JwtUtil jwtUtil;
 
     @Autowired
-    private RoleService roleService;
+    private PermissionService permissionService;
 
     @Autowired
-    private PermissionService permissionService;
+    private AuthorizationPlanRegistry authorizationPlanRegistry;
+
+    @Autowired
+    private PermissionEngine permissionEngine;
+
+    @Autowired
+    private PolicyVersionRegistry policyVersionRegistry;
+
+    @Autowired
+    private AuthorizationMetrics authorizationMetrics;
+
+    /**
+     * 是否信任token中的角色和权限声明
+     */
+    @Value("${app.authorization.claims-trusted:false}")
+    private boolean claimsTrusted;
+
+    /**
+     * 策略版本过期的token是否直接拒绝（否则回退到数据库查询）
+     */
+    @Value("${app.authorization.reject-stale-token:false}")
+    private boolean rejectStaleToken;
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
@@ -37,94 +78,102 @@ public class JwtInterceptor implements HandlerInterceptor {
             return true;
         }
 
+        // 查找启动时预编译的授权计划
         HandlerMethod handlerMethod = (HandlerMethod) handler;
-        Method method = handlerMethod.getMethod();
-        
-        // 检查方法或类上是否有RequirePermission注解
-        RequirePermission requirePermission = method.getAnnotation(RequirePermission.class);
-        if (requirePermission == null) {
-            requirePermission = method.getDeclaringClass().getAnnotation(RequirePermission.class);
-        }
+        AuthorizationPlan plan = authorizationPlanRegistry.getPlan(handlerMethod);
         
         // 如果没有权限注解，直接通过
-        if (requirePermission == null) {
+        if (plan.isPublic()) {
             return true;
         }
         
         // 从请求头中获取token
+        long start = System.nanoTime();
         String token = request.getHeader("Authorization");
         if (token == null || !token.startsWith("Bearer ")) {
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.getWriter().write("{\"code\": 401, \"message\": \"未提供有效的token\"}");
+            authorizationMetrics.stage(Stage.EXTRACT, start);
+            authorizationMetrics.decision(handlerMethod, Outcome.INVALID_TOKEN);
+            reject(response, HttpServletResponse.SC_UNAUTHORIZED, MISSING_TOKEN);
             return false;
         }
         
         token = token.substring(7); // 去掉"Bearer "前缀
+        long stageStart = authorizationMetrics.stage(Stage.EXTRACT, start);
         
         // 验证token
         try {
-            String username = jwtUtil.getUsernameFromToken(token);
+            TokenClaims claims = jwtUtil.verify(token);
+            stageStart = authorizationMetrics.stage(Stage.VERIFY, stageStart);
+            String username = claims.getUsername();
             if (username == null) {
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.getWriter().write("{\"code\": 401, \"message\": \"token无效\"}");
+                authorizationMetrics.decision(handlerMethod, Outcome.INVALID_TOKEN);
+                reject(response, HttpServletResponse.SC_UNAUTHORIZED, INVALID_TOKEN);
                 return false;
             }
             
-            Long userId = jwtUtil.getUserIdFromToken(token);
+            Long userId = claims.getUserId();
             
-            // 检查角色权限
-            String[] requiredRoles = requirePermission.roles();
-            if (requiredRoles.length > 0) {
-                List<Role> userRoles = roleService.getRolesByUserId(userId);
-                List<String> userRoleCodes = userRoles.stream()
-                        .map(Role::getRoleCode)
-                        .collect(Collectors.toList());
-                
-                boolean hasRole = Arrays.stream(requiredRoles)
-                        .anyMatch(userRoleCodes::contains);
-                
-                if (!hasRole) {
-                    response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-                    response.getWriter().write("{\"code\": 403, \"message\": \"权限不足：缺少所需角色\"}");
-                    return false;
+            if (plan.requiresRoles() || plan.requiresPermissions()) {
+                EffectiveAuthorities authorities = null;
+                if (claimsTrusted) {
+                    // 信任token声明：策略版本一致时直接使用token中的角色和权限，无需访问数据库
+                    Long policyVersion = claims.getPolicyVersion();
+                    if (policyVersion != null && policyVersion == policyVersionRegistry.current(userId)) {
+                        authorities = claims.toAuthorities(permissionEngine);
+                        stageStart = authorizationMetrics.stage(Stage.CLAIMS, stageStart);
+                    } else if (rejectStaleToken) {
+                        authorizationMetrics.decision(handlerMethod, Outcome.INVALID_TOKEN);
+                        reject(response, HttpServletResponse.SC_UNAUTHORIZED, STALE_TOKEN);
+                        return false;
+                    }
+                }
+                if (authorities == null) {
+                    authorities = permissionService.getAuthoritiesByUserId(userId);
+                    stageStart = authorizationMetrics.stage(Stage.LOOKUP, stageStart);
                 }
-            }
-            
-            // 检查权限
-            String[] requiredPermissions = requirePermission.value();
-            if (requiredPermissions.length > 0) {
-                List<Permission> userPermissions = permissionService.getPermissionsByUserId(userId);
-                List<String> userPermissionCodes = userPermissions.stream()
-                        .map(Permission::getPermissionCode)
-                        .collect(Collectors.toList());
                 
-                boolean hasPermission;
-                if (requirePermission.logical() == RequirePermission.Logical.ALL) {
-                    // 需要满足所有权限
-                    hasPermission = Arrays.stream(requiredPermissions)
-                            .allMatch(userPermissionCodes::contains);
-                } else {
-                    // 满足任一权限即可
-                    hasPermission = Arrays.stream(requiredPermissions)
-                            .anyMatch(userPermissionCodes::contains);
+                // 检查角色权限
+                if (plan.requiresRoles() && !permissionEngine.hasRoles(authorities, plan.getRoleMask())) {
+                    authorizationMetrics.stage(Stage.DECISION, stageStart);
+                    authorizationMetrics.decision(handlerMethod, Outcome.DENY_ROLE);
+                    reject(response, HttpServletResponse.SC_FORBIDDEN, MISSING_ROLE);
+                    return false;
                 }
                 
-                if (!hasPermission) {
-                    response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-                    response.getWriter().write("{\"code\": 403, \"message\": \"权限不足：缺少所需权限\"}");
+                // 检查权限，ANY/ALL语义由引擎按位图判定
+                if (plan.requiresPermissions()
+                        && !permissionEngine.hasPermissions(authorities, plan.getPermissionMask(), plan.getLogical())) {
+                    authorizationMetrics.stage(Stage.DECISION, stageStart);
+                    authorizationMetrics.decision(handlerMethod, Outcome.DENY_PERMISSION);
+                    reject(response, HttpServletResponse.SC_FORBIDDEN, MISSING_PERMISSION);
                     return false;
                 }
+                authorizationMetrics.stage(Stage.DECISION, stageStart);
             }
+            authorizationMetrics.decision(handlerMethod, Outcome.ALLOW);
             
             // 将用户信息放入请求属性中，供后续使用
             request.setAttribute("userId", userId);
             request.setAttribute("username", username);
+            request.setAttribute(TokenClaims.REQUEST_ATTRIBUTE, claims);
             
             return true;
         } catch (Exception e) {
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.getWriter().write("{\"code\": 401, \"message\": \"token验证失败\"}");
+            authorizationMetrics.decision(handlerMethod, Outcome.INVALID_TOKEN);
+            reject(response, HttpServletResponse.SC_UNAUTHORIZED, VERIFY_FAILED);
             return false;
         }
     }
-}
\ No newline at end of file
+
+    private static void reject(HttpServletResponse response, int status, byte[] body) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static byte[] body(int code, String message) {
+        return ("{\"code\": " + code + ", \"message\": \"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.System.interceptor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 单个HTTP请求内执行的SQL统计
+ * 由请求线程绑定到ThreadLocal，{@link SqlStatsInterceptor}在每条语句执行后累加。
+ * 异步请求的后续步骤在其他线程执行，统计同时保存在请求属性中，异步分派时重新绑定；
+ * 切换到线程池的步骤用{@link #propagate(Function)}包装，计入同一请求。
+ * 同一SQL文本（参数不同）在一个请求内重复执行多次，视为N+1查询嫌疑。
+ */
+public final class RequestSqlStats {
+
+    /**
+     * 保存统计的请求属性名
+     */
+    public static final String REQUEST_ATTRIBUTE = RequestSqlStats.class.getName();
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Shape> shapes = new HashMap<>();
+
+    private int statements;
+
+    private long nanos;
+
+    public static RequestSqlStats begin() {
+        RequestSqlStats stats = new RequestSqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * 将已有的统计绑定到当前线程（异步分派、线程池中的后续步骤）
+     */
+    public static void bind(RequestSqlStats stats) {
+        CURRENT.set(stats);
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 当前线程的统计，不在HTTP请求中（启动任务、后台线程等）时为null
+     */
+    public static RequestSqlStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 包装在其他线程执行的步骤：执行期间绑定调用时所在请求的统计，结束后恢复该线程原有的绑定
+     */
+    public static <T, R> Function<T, R> propagate(Function<T, R> function) {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats == null) {
+            return function;
+        }
+        return value -> {
+            RequestSqlStats previous = CURRENT.get();
+            CURRENT.set(stats);
+            try {
+                return function.apply(value);
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    synchronized void record(String statementId, String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        shapes.computeIfAbsent(sql, key -> new Shape(statementId)).count++;
+    }
+
+    public synchronized int getStatements() {
+        return statements;
+    }
+
+    public synchronized long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * 执行次数达到threshold的语句，格式为“Mapper.方法=次数”
+     */
+    public synchronized List<String> nPlusOneSuspects(int threshold) {
+        List<String> suspects = new ArrayList<>();
+        for (Shape shape : shapes.values()) {
+            if (shape.count >= threshold) {
+                suspects.add(shortId(shape.statementId) + "=" + shape.count);
+            }
+        }
+        return suspects;
+    }
+
+    private static String shortId(String statementId) {
+        int methodDot = statementId.lastIndexOf('.');
+        return methodDot > 0 ? statementId.substring(statementId.lastIndexOf('.', methodDot - 1) + 1) : statementId;
+    }
+
+    private static final class Shape {
+
+        private final String statementId;
+
+        private int count;
+
+        private Shape(String statementId) {
+            this.statementId = statementId;
+        }
+    }
+}
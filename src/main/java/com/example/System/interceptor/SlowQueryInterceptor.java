@@ -0,0 +1,187 @@
+package com.example.System.interceptor;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyBatis插件：慢查询日志
+ * 每条语句的耗时按语句ID记入直方图sql.query，返回/影响行数和绑定参数个数分别记入sql.query.rows、sql.query.params；
+ * 超过阈值的语句全部记录日志，其余按比例抽样记录。
+ * 日志为key=value格式，经logback异步appender写入单独的文件，不在请求线程上做磁盘IO，也不输出SQL参数值。
+ * 流式查询（Cursor）的耗时从执行语句计到Cursor关闭，包含逐行读取结果的时间。
+ */
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "queryCursor", args = {Statement.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class})
+})
+public class SlowQueryInterceptor implements Interceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryInterceptor.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final long thresholdNanos;
+
+    private final double sampleRate;
+
+    private final Map<String, StatementMeters> meters = new ConcurrentHashMap<>();
+
+    public SlowQueryInterceptor(MeterRegistry meterRegistry, Duration threshold, double sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        StatementHandler handler = PluginUtils.realTarget(invocation.getTarget());
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            record(handler, System.nanoTime() - start, -1, true);
+            throw e;
+        }
+        if (result instanceof Cursor<?> cursor) {
+            return new TimedCursor<>(cursor, handler, start);
+        }
+        record(handler, System.nanoTime() - start, rows(result), false);
+        return result;
+    }
+
+    private void record(StatementHandler handler, long elapsed, int rows, boolean failed) {
+        String statementId = PluginUtils.mpStatementHandler(handler).mappedStatement().getId();
+        BoundSql boundSql = handler.getBoundSql();
+        StatementMeters statementMeters = meters.computeIfAbsent(statementId, this::register);
+        statementMeters.timer.record(elapsed, TimeUnit.NANOSECONDS);
+        statementMeters.params.record(boundSql.getParameterMappings().size());
+        if (rows >= 0) {
+            statementMeters.rows.record(rows);
+        }
+        boolean slow = elapsed >= thresholdNanos;
+        if (slow || failed || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+            log(statementId, boundSql, elapsed, rows, slow, failed);
+        }
+    }
+
+    private StatementMeters register(String statementId) {
+        String statement = statementId.substring(statementId.lastIndexOf('.', statementId.lastIndexOf('.') - 1) + 1);
+        return new StatementMeters(
+                Timer.builder("sql.query")
+                        .tag("statement", statement)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry),
+                DistributionSummary.builder("sql.query.rows")
+                        .tag("statement", statement)
+                        .register(meterRegistry),
+                DistributionSummary.builder("sql.query.params")
+                        .tag("statement", statement)
+                        .register(meterRegistry));
+    }
+
+    private static void log(String statementId, BoundSql boundSql, long elapsed, int rows, boolean slow, boolean failed) {
+        String message = "statement={} durationMs={} params={} rows={} slow={} failed={} sql=\"{}\"";
+        Object[] args = {statementId, String.format("%.3f", elapsed / 1_000_000.0), boundSql.getParameterMappings().size(),
+                rows, slow, failed, boundSql.getSql().replaceAll("\\s+", " ")};
+        if (slow || failed) {
+            logger.warn(message, args);
+        } else {
+            logger.info(message, args);
+        }
+    }
+
+    /**
+     * 关闭时记录耗时和已读取行数的Cursor
+     */
+    private final class TimedCursor<T> implements Cursor<T> {
+
+        private final Cursor<T> delegate;
+
+        private final StatementHandler handler;
+
+        private final long start;
+
+        private boolean recorded;
+
+        TimedCursor(Cursor<T> delegate, StatementHandler handler, long start) {
+            this.delegate = delegate;
+            this.handler = handler;
+            this.start = start;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public boolean isConsumed() {
+            return delegate.isConsumed();
+        }
+
+        @Override
+        public int getCurrentIndex() {
+            return delegate.getCurrentIndex();
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return delegate.iterator();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                delegate.close();
+            } finally {
+                if (!recorded) {
+                    recorded = true;
+                    record(handler, System.nanoTime() - start, delegate.getCurrentIndex() + 1, false);
+                }
+            }
+        }
+    }
+
+    /**
+     * 单条语句的指标，按语句ID注册一次后缓存
+     */
+    private record StatementMeters(Timer timer, DistributionSummary rows, DistributionSummary params) {
+    }
+
+    /**
+     * 查询返回的行数或更新影响的行数，无法得知时为-1
+     */
+    private static int rows(Object result) {
+        if (result instanceof List<?> list) {
+            return list.size();
+        }
+        if (result instanceof Integer count) {
+            return count;
+        }
+        return -1;
+    }
+}
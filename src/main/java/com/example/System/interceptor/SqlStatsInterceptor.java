@@ -0,0 +1,40 @@
+package com.example.System.interceptor;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.sql.Statement;
+
+/**
+ * MyBatis插件：统计当前HTTP请求执行的SQL条数和数据库耗时
+ * 拦截StatementHandler而不是Executor，一级缓存命中的查询不计入；分页插件改写后的SQL按改写后的文本计入。
+ */
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "queryCursor", args = {Statement.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class})
+})
+public class SqlStatsInterceptor implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats == null) {
+            return invocation.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            StatementHandler handler = PluginUtils.realTarget(invocation.getTarget());
+            String statementId = PluginUtils.mpStatementHandler(handler).mappedStatement().getId();
+            stats.record(statementId, handler.getBoundSql().getSql(), elapsed);
+        }
+    }
+}
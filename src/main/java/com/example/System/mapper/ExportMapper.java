@@ -0,0 +1,32 @@
+package com.example.System.mapper;
+
+import com.example.System.entity.Permission;
+import com.example.System.entity.Role;
+import com.example.System.entity.RolePermission;
+import com.example.System.entity.User;
+import com.example.System.entity.UserRole;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+
+/**
+ * 全表导出查询
+ * 均按主键升序流式读取（MySQL驱动逐行返回，不在内存中缓存结果集），包含已逻辑删除的行；
+ * 返回的Cursor必须在事务内遍历完毕
+ */
+@Mapper
+public interface ExportMapper {
+
+    /**
+     * 用户（不含密码）
+     */
+    Cursor<User> streamUsers(@Param("afterId") Long afterId);
+
+    Cursor<UserRole> streamUserRoles(@Param("afterId") Long afterId);
+
+    Cursor<Role> streamRoles(@Param("afterId") Long afterId);
+
+    Cursor<Permission> streamPermissions(@Param("afterId") Long afterId);
+
+    Cursor<RolePermission> streamRolePermissions(@Param("afterId") Long afterId);
+}
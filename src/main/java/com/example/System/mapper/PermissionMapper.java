@@ -1,9 +1,44 @@
 package com.example.System.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.System.dto.UserAuthorityRow;
 import com.example.System.entity.Permission;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 @Mapper
 public interface PermissionMapper extends BaseMapper<Permission> {
-}
\ No newline at end of file
+    
+    /**
+     * 根据用户ID联表查询权限列表
+     */
+    List<Permission> selectByUserId(@Param("userId") Long userId);
+    
+    /**
+     * 根据用户ID联表查询有效角色与权限代码
+     */
+    List<UserAuthorityRow> selectAuthorityRowsByUserId(@Param("userId") Long userId);
+    
+    /**
+     * 批量联表查询多个用户的有效角色与权限代码
+     */
+    List<UserAuthorityRow> selectAuthorityRowsByUserIds(@Param("userIds") Collection<Long> userIds);
+    
+    /**
+     * 查询多个角色关联的权限列表（去重）
+     */
+    List<Permission> selectByRoleIds(@Param("roleIds") Collection<Long> roleIds);
+    
+    /**
+     * 查询多个角色的角色与权限代码，用于补充通过角色继承获得的权限
+     */
+    List<UserAuthorityRow> selectAuthorityRowsByRoleIds(@Param("roleIds") Collection<Long> roleIds);
+    
+    /**
+     * 恢复已逻辑删除的权限，uk_permission_code包含逻辑删除的行，重新创建同代码权限前调用
+     */
+    int restoreByPermissionCodes(@Param("permissionCodes") Collection<String> permissionCodes);
+}
@@ -0,0 +1,15 @@
+package com.example.System.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.System.entity.RoleInherit;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+@Mapper
+public interface RoleInheritMapper extends BaseMapper<RoleInherit> {
+
+    /**
+     * 新增继承关系，已逻辑删除的同一关系直接恢复
+     */
+    int insertOrRestore(@Param("roleId") Long roleId, @Param("inheritRoleId") Long inheritRoleId);
+}
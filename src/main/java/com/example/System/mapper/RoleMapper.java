@@ -3,7 +3,21 @@ package com.example.System.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.example.System.entity.Role;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 @Mapper
 public interface RoleMapper extends BaseMapper<Role> {
-}
\ No newline at end of file
+    
+    /**
+     * 根据用户ID联表查询角色列表
+     */
+    List<Role> selectByUserId(@Param("userId") Long userId);
+    
+    /**
+     * 恢复已逻辑删除的角色，uk_role_code包含逻辑删除的行，重新创建同代码角色前调用
+     */
+    int restoreByRoleCodes(@Param("roleCodes") Collection<String> roleCodes);
+}
@@ -3,7 +3,26 @@ package com.example.System.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.example.System.entity.RolePermission;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 @Mapper
 public interface RolePermissionMapper extends BaseMapper<RolePermission> {
-}
\ No newline at end of file
+    
+    /**
+     * 查询多个角色当前有效的授权，只返回role_id与permission_id
+     */
+    List<RolePermission> selectGrantsByRoleIds(@Param("roleIds") Collection<Long> roleIds);
+    
+    /**
+     * 多行插入授权，已逻辑删除的授权直接恢复
+     */
+    int insertOrRestoreGrants(@Param("grants") Collection<RolePermission> grants);
+    
+    /**
+     * 逻辑删除给定的授权
+     */
+    int deleteGrants(@Param("grants") Collection<RolePermission> grants);
+}
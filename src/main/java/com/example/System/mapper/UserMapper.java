@@ -3,7 +3,16 @@ package com.example.System.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.example.System.entity.User;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 @Mapper
 public interface UserMapper extends BaseMapper<User> {
-}
\ No newline at end of file
+    
+    /**
+     * 查询已被占用的用户名，uk_username包含逻辑删除的行，因此不过滤deleted
+     */
+    List<String> selectExistingUsernames(@Param("usernames") Collection<String> usernames);
+}
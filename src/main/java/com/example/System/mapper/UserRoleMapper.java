@@ -1,9 +1,12 @@
 package com.example.System.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.System.dto.UserRolePair;
 import com.example.System.entity.UserRole;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -13,4 +16,25 @@ public interface UserRoleMapper extends BaseMapper<UserRole> {
      * 根据用户ID获取角色ID列表
      */
     List<Long> getRoleIdsByUserId(Long userId);
-}
\ No newline at end of file
+    
+    /**
+     * 新增用户角色关系，已逻辑删除的同一关系直接恢复
+     * 返回值受驱动的found rows设置影响，不能据此判断关系是否原本已存在
+     */
+    int insertOrRestore(@Param("userId") Long userId, @Param("roleId") Long roleId);
+    
+    /**
+     * 查询给定用户角色对中当前有效的部分
+     */
+    List<UserRolePair> selectActivePairs(@Param("pairs") Collection<UserRolePair> pairs);
+    
+    /**
+     * 多行插入用户角色关系，已逻辑删除的关系直接恢复
+     */
+    int insertOrRestorePairs(@Param("pairs") Collection<UserRolePair> pairs);
+    
+    /**
+     * 逻辑删除给定的用户角色关系
+     */
+    int deletePairs(@Param("pairs") Collection<UserRolePair> pairs);
+}
@@ -0,0 +1,139 @@
+package com.example.System.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 用户有效权限缓存
+ * 有容量上限和过期时间，并在RBAC数据变更时按用户、角色、权限精确失效
+ */
+@Component
+public class AuthorityCache {
+
+    public static final String CACHE_NAME = "userAuthorities";
+
+    private final Cache<Long, EffectiveAuthorities> cache;
+
+    /**
+     * 失效代数，用于丢弃与失效操作并发加载出的旧数据
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public AuthorityCache(@Value("${app.authority-cache.maximum-size:10000}") long maximumSize,
+                          @Value("${app.authority-cache.expire-after-write:10m}") Duration expireAfterWrite,
+                          MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 获取用户的有效权限，未命中时通过loader加载并缓存
+     */
+    public EffectiveAuthorities get(Long userId, Function<Long, EffectiveAuthorities> loader) {
+        EffectiveAuthorities authorities = cache.getIfPresent(userId);
+        if (authorities != null) {
+            return authorities;
+        }
+        long loadGeneration = generation.get();
+        authorities = loader.apply(userId);
+        cache.put(userId, authorities);
+        // 加载期间发生过失效，数据可能已过时，不保留
+        if (generation.get() != loadGeneration) {
+            cache.invalidate(userId);
+        }
+        return authorities;
+    }
+
+    /**
+     * 批量获取多个用户的有效权限，未命中的用户通过bulkLoader一次性加载
+     */
+    public Map<Long, EffectiveAuthorities> getAll(Collection<Long> userIds,
+                                                  Function<Set<Long>, Map<Long, EffectiveAuthorities>> bulkLoader) {
+        Map<Long, EffectiveAuthorities> result = new HashMap<>(cache.getAllPresent(userIds));
+        Set<Long> missing = new HashSet<>();
+        for (Long userId : userIds) {
+            if (!result.containsKey(userId)) {
+                missing.add(userId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+        long loadGeneration = generation.get();
+        Map<Long, EffectiveAuthorities> loaded = bulkLoader.apply(missing);
+        cache.putAll(loaded);
+        if (generation.get() != loadGeneration) {
+            cache.invalidateAll(loaded.keySet());
+        }
+        result.putAll(loaded);
+        return result;
+    }
+
+    /**
+     * 用户的角色分配发生变化
+     */
+    public void invalidateUser(Long userId) {
+        generation.incrementAndGet();
+        cache.invalidate(userId);
+    }
+
+    /**
+     * 批量失效多个用户
+     */
+    public void invalidateUsers(Collection<Long> userIds) {
+        generation.incrementAndGet();
+        cache.invalidateAll(userIds);
+    }
+
+    /**
+     * 角色被修改、删除或其权限关系发生变化，失效所有拥有该角色的用户
+     */
+    public void invalidateRole(Long roleId) {
+        invalidateMatching(authorities -> authorities.hasRoleId(roleId));
+    }
+
+    /**
+     * 权限或权限层级发生变化，失效直接拥有受影响权限的用户，以及持有通配符授权的用户
+     */
+    public void invalidatePermissions(Collection<Long> permissionIds) {
+        invalidateMatching(authorities -> authorities.getWildcards() != null
+                || permissionIds.stream().anyMatch(authorities::hasPermissionId));
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private void invalidateMatching(Predicate<EffectiveAuthorities> predicate) {
+        generation.incrementAndGet();
+        cache.asMap().values().removeIf(predicate);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.System.security;
+
+import java.util.Arrays;
+
+/**
+ * 基于long[]的位图
+ * 用于表示所需的角色/权限集合，以及用户拥有的有效角色/权限集合
+ */
+public final class AuthorityMask {
+
+    public static final AuthorityMask EMPTY = new AuthorityMask(new long[0]);
+
+    private final long[] words;
+
+    private AuthorityMask(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * 由ID集合构建位图
+     */
+    public static AuthorityMask of(int... ids) {
+        if (ids.length == 0) {
+            return EMPTY;
+        }
+        int max = 0;
+        for (int id : ids) {
+            max = Math.max(max, id);
+        }
+        long[] words = new long[(max >>> 6) + 1];
+        for (int id : ids) {
+            words[id >>> 6] |= 1L << id;
+        }
+        return new AuthorityMask(words);
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean contains(int id) {
+        int index = id >>> 6;
+        return index < words.length && (words[index] & (1L << id)) != 0;
+    }
+
+    /**
+     * 从指定位置开始的下一个被置位的ID，不存在时返回-1
+     */
+    public int nextSetBit(int fromId) {
+        int index = fromId >>> 6;
+        if (index >= words.length) {
+            return -1;
+        }
+        long word = words[index] & (-1L << fromId);
+        while (true) {
+            if (word != 0) {
+                return (index << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++index == words.length) {
+                return -1;
+            }
+            word = words[index];
+        }
+    }
+
+    /**
+     * 与所需集合存在交集（ANY）
+     */
+    public boolean intersects(AuthorityMask required) {
+        long[] other = required.words;
+        int length = Math.min(words.length, other.length);
+        for (int i = 0; i < length; i++) {
+            if ((words[i] & other[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 包含所需集合的全部元素（ALL）
+     */
+    public boolean containsAll(AuthorityMask required) {
+        long[] other = required.words;
+        for (int i = 0; i < other.length; i++) {
+            long word = i < words.length ? words[i] : 0L;
+            if ((word & other[i]) != other[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 并集，返回新的位图
+     */
+    public AuthorityMask or(AuthorityMask other) {
+        long[] longer = words.length >= other.words.length ? words : other.words;
+        long[] shorter = longer == words ? other.words : words;
+        long[] result = Arrays.copyOf(longer, longer.length);
+        for (int i = 0; i < shorter.length; i++) {
+            result[i] |= shorter[i];
+        }
+        return new AuthorityMask(result);
+    }
+
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AuthorityMask)) {
+            return false;
+        }
+        long[] other = ((AuthorityMask) o).words;
+        int length = Math.max(words.length, other.length);
+        for (int i = 0; i < length; i++) {
+            long a = i < words.length ? words[i] : 0L;
+            long b = i < other.length ? other[i] : 0L;
+            if (a != b) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int length = words.length;
+        while (length > 0 && words[length - 1] == 0) {
+            length--;
+        }
+        return Arrays.hashCode(Arrays.copyOf(words, length));
+    }
+}
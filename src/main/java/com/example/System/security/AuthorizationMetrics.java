@@ -0,0 +1,103 @@
+package com.example.System.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 鉴权链路指标
+ * authz.stage：各阶段耗时，按stage区分；authz.decisions：鉴权结果计数，按handler和outcome区分。
+ * handler标签为“控制器类名#方法名”，取值个数等于受保护的接口数。计时器在构造时注册；计数器在授权计划预编译时
+ * 按受保护的接口注册（见{@link AuthorizationPlanRegistry}），请求路径上只查本地缓存，不查找注册表，
+ * 未预编译的方法在首次鉴权时注册。
+ */
+@Component
+public class AuthorizationMetrics {
+
+    public enum Stage {
+        /**
+         * 从请求头提取token
+         */
+        EXTRACT,
+        /**
+         * 验签并解析token
+         */
+        VERIFY,
+        /**
+         * 由token声明构建有效权限
+         */
+        CLAIMS,
+        /**
+         * 查询用户的有效角色和权限（缓存或数据库）
+         */
+        LOOKUP,
+        /**
+         * 角色、权限判定
+         */
+        DECISION
+    }
+
+    public enum Outcome {
+        ALLOW, DENY_ROLE, DENY_PERMISSION, INVALID_TOKEN
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    private final Timer[] stageTimers = new Timer[Stage.values().length];
+
+    private final Map<Method, Counter[]> decisionCounters = new ConcurrentHashMap<>();
+
+    public AuthorizationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Stage stage : Stage.values()) {
+            stageTimers[stage.ordinal()] = Timer.builder("authz.stage")
+                    .tag("stage", tagValue(stage))
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 记录从startNanos到当前的阶段耗时，返回当前时间作为下一阶段的起点
+     */
+    public long stage(Stage stage, long startNanos) {
+        long now = System.nanoTime();
+        stageTimers[stage.ordinal()].record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    /**
+     * 预先注册处理器方法的鉴权结果计数器
+     */
+    public void register(HandlerMethod handler) {
+        decisionCounters.computeIfAbsent(handler.getMethod(), method -> registerDecisions(handler));
+    }
+
+    public void decision(HandlerMethod handler, Outcome outcome) {
+        decisionCounters.computeIfAbsent(handler.getMethod(), method -> registerDecisions(handler))[outcome.ordinal()]
+                .increment();
+    }
+
+    private Counter[] registerDecisions(HandlerMethod handler) {
+        String handlerTag = handler.getBeanType().getSimpleName() + "#" + handler.getMethod().getName();
+        Counter[] counters = new Counter[Outcome.values().length];
+        for (Outcome outcome : Outcome.values()) {
+            counters[outcome.ordinal()] = Counter.builder("authz.decisions")
+                    .tag("handler", handlerTag)
+                    .tag("outcome", tagValue(outcome))
+                    .register(meterRegistry);
+        }
+        return counters;
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.System.security;
+
+import com.example.System.annotation.RequirePermission;
+
+import java.lang.reflect.Method;
+
+/**
+ * 处理器方法的授权计划
+ * 启动时由{@link RequirePermission}注解解析得到，运行期只读
+ */
+public final class AuthorizationPlan {
+
+    /**
+     * 无需鉴权的公开计划
+     */
+    public static final AuthorizationPlan PUBLIC = new AuthorizationPlan(true, new String[0], new String[0],
+            AuthorityMask.EMPTY, AuthorityMask.EMPTY, RequirePermission.Logical.ANY);
+
+    private final boolean publicAccess;
+
+    private final String[] requiredRoles;
+
+    private final String[] requiredPermissions;
+
+    private final AuthorityMask roleMask;
+
+    private final AuthorityMask permissionMask;
+
+    private final RequirePermission.Logical logical;
+
+    private AuthorizationPlan(boolean publicAccess, String[] requiredRoles, String[] requiredPermissions,
+                              AuthorityMask roleMask, AuthorityMask permissionMask, RequirePermission.Logical logical) {
+        this.publicAccess = publicAccess;
+        this.requiredRoles = requiredRoles;
+        this.requiredPermissions = requiredPermissions;
+        this.roleMask = roleMask;
+        this.permissionMask = permissionMask;
+        this.logical = logical;
+    }
+
+    /**
+     * 解析方法的授权计划，方法上的注解优先于类上的注解
+     * 所需角色和权限通过引擎预编译为位图
+     */
+    public static AuthorizationPlan of(Method method, PermissionEngine permissionEngine) {
+        RequirePermission requirePermission = method.getAnnotation(RequirePermission.class);
+        if (requirePermission == null) {
+            requirePermission = method.getDeclaringClass().getAnnotation(RequirePermission.class);
+        }
+        if (requirePermission == null) {
+            return PUBLIC;
+        }
+        String[] roles = requirePermission.roles().clone();
+        String[] permissions = requirePermission.value().clone();
+        return new AuthorizationPlan(false, roles, permissions,
+                permissionEngine.compileRoles(roles), permissionEngine.compilePermissions(permissions),
+                requirePermission.logical());
+    }
+
+    public boolean isPublic() {
+        return publicAccess;
+    }
+
+    public boolean requiresRoles() {
+        return requiredRoles.length > 0;
+    }
+
+    public boolean requiresPermissions() {
+        return requiredPermissions.length > 0;
+    }
+
+    /**
+     * 所需角色代码，返回内部数组，调用方不得修改
+     */
+    public String[] getRequiredRoles() {
+        return requiredRoles;
+    }
+
+    /**
+     * 所需权限代码，返回内部数组，调用方不得修改
+     */
+    public String[] getRequiredPermissions() {
+        return requiredPermissions;
+    }
+
+    public AuthorityMask getRoleMask() {
+        return roleMask;
+    }
+
+    public AuthorityMask getPermissionMask() {
+        return permissionMask;
+    }
+
+    public RequirePermission.Logical getLogical() {
+        return logical;
+    }
+}
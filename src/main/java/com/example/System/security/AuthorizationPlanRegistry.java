@@ -0,0 +1,68 @@
+package com.example.System.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 授权计划注册表
+ * 启动时为所有已注册的处理器方法预编译授权计划，请求时只需一次查表；
+ * 同时为需要鉴权的方法注册鉴权结果计数器
+ */
+@Component
+public class AuthorizationPlanRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthorizationPlanRegistry.class);
+
+    private final Map<Method, AuthorizationPlan> plans = new ConcurrentHashMap<>();
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private PermissionEngine permissionEngine;
+
+    @Autowired
+    private AuthorizationMetrics authorizationMetrics;
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void precompile() {
+        int protectedCount = 0;
+        for (RequestMappingHandlerMapping mapping : applicationContext.getBeansOfType(RequestMappingHandlerMapping.class).values()) {
+            for (HandlerMethod handlerMethod : mapping.getHandlerMethods().values()) {
+                AuthorizationPlan plan = plans.computeIfAbsent(handlerMethod.getMethod(), this::compile);
+                if (!plan.isPublic()) {
+                    authorizationMetrics.register(handlerMethod);
+                    protectedCount++;
+                }
+            }
+        }
+        logger.info("授权计划预编译完成，共{}个处理器方法，其中{}个需要鉴权", plans.size(), protectedCount);
+    }
+
+    /**
+     * 获取处理器方法的授权计划，未预编译的方法在首次访问时解析
+     */
+    public AuthorizationPlan getPlan(HandlerMethod handlerMethod) {
+        Method method = handlerMethod.getMethod();
+        AuthorizationPlan plan = plans.get(method);
+        if (plan == null) {
+            plan = plans.computeIfAbsent(method, this::compile);
+        }
+        return plan;
+    }
+
+    private AuthorizationPlan compile(Method method) {
+        return AuthorizationPlan.of(method, permissionEngine);
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.System.security;
+
+import com.example.System.annotation.RequirePermission;
+import com.example.System.entity.Permission;
+import com.example.System.entity.Role;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 基于位图的权限判定引擎
+ * 角色代码与权限代码分别驻留在各自的字典中，判定时按字(64位)做与/或运算。
+ * 构建用户权限时按权限层级展开子孙权限，通配符授权在位图未命中时通过前缀树匹配。
+ */
+@Component
+public class BitsetPermissionEngine implements PermissionEngine {
+
+    private final CodeDictionary roleDictionary = new CodeDictionary();
+
+    private final CodeDictionary permissionDictionary = new CodeDictionary();
+
+    private final PermissionHierarchy hierarchy;
+
+    /**
+     * 不带权限层级的引擎，只做精确匹配和通配符匹配
+     */
+    public BitsetPermissionEngine() {
+        this(null);
+    }
+
+    @Autowired
+    public BitsetPermissionEngine(PermissionHierarchy hierarchy) {
+        this.hierarchy = hierarchy;
+    }
+
+    @Override
+    public AuthorityMask compileRoles(String... roleCodes) {
+        return compile(roleDictionary, roleCodes);
+    }
+
+    @Override
+    public AuthorityMask compilePermissions(String... permissionCodes) {
+        return compile(permissionDictionary, permissionCodes);
+    }
+
+    @Override
+    public EffectiveAuthorities build(Long userId, Collection<Role> roles, Collection<Permission> permissions) {
+        List<String> roleCodes = new ArrayList<>(roles.size());
+        Set<Long> roleIds = new HashSet<>();
+        for (Role role : roles) {
+            roleCodes.add(role.getRoleCode());
+            roleIds.add(role.getId());
+        }
+        List<String> permissionCodes = new ArrayList<>(permissions.size());
+        Set<Long> permissionIds = new HashSet<>();
+        for (Permission permission : permissions) {
+            permissionCodes.add(permission.getPermissionCode());
+            permissionIds.add(permission.getId());
+        }
+        return create(userId, roleCodes, permissionCodes, roleIds, permissionIds);
+    }
+
+    @Override
+    public EffectiveAuthorities buildFromCodes(Long userId, Collection<String> roleCodes, Collection<String> permissionCodes) {
+        return create(userId, new ArrayList<>(roleCodes), new ArrayList<>(permissionCodes), Set.of(), Set.of());
+    }
+
+    @Override
+    public boolean hasRoles(EffectiveAuthorities authorities, AuthorityMask requiredRoles) {
+        return authorities.getRoles().intersects(requiredRoles);
+    }
+
+    @Override
+    public boolean hasPermissions(EffectiveAuthorities authorities, AuthorityMask requiredPermissions,
+                                  RequirePermission.Logical logical) {
+        AuthorityMask owned = authorities.getPermissions();
+        WildcardTrie wildcards = authorities.getWildcards();
+        if (logical == RequirePermission.Logical.ALL) {
+            if (owned.containsAll(requiredPermissions)) {
+                return true;
+            }
+            if (wildcards == null) {
+                return false;
+            }
+            // 位图未覆盖的所需权限逐个尝试通配符匹配
+            for (int id = requiredPermissions.nextSetBit(0); id >= 0; id = requiredPermissions.nextSetBit(id + 1)) {
+                if (!owned.contains(id) && !wildcards.matches(permissionDictionary.codeOf(id))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (owned.intersects(requiredPermissions)) {
+            return true;
+        }
+        if (wildcards == null) {
+            return false;
+        }
+        for (int id = requiredPermissions.nextSetBit(0); id >= 0; id = requiredPermissions.nextSetBit(id + 1)) {
+            if (wildcards.matches(permissionDictionary.codeOf(id))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasAnyRoleCode(EffectiveAuthorities authorities, String... roleCodes) {
+        AuthorityMask owned = authorities.getRoles();
+        for (String code : roleCodes) {
+            // 用户拥有的角色在构建时都已进入字典，字典中不存在的代码一定不被拥有
+            int id = code == null ? -1 : roleDictionary.lookup(code);
+            if (id >= 0 && owned.contains(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasPermissionCodes(EffectiveAuthorities authorities, RequirePermission.Logical logical,
+                                      String... permissionCodes) {
+        boolean all = logical == RequirePermission.Logical.ALL;
+        for (String code : permissionCodes) {
+            if (code == null) {
+                continue;
+            }
+            if (ownsPermissionCode(authorities, code) != all) {
+                return !all;
+            }
+        }
+        return all;
+    }
+
+    CodeDictionary permissionDictionary() {
+        return permissionDictionary;
+    }
+
+    private boolean ownsPermissionCode(EffectiveAuthorities authorities, String code) {
+        int id = permissionDictionary.lookup(code);
+        if (id >= 0 && authorities.getPermissions().contains(id)) {
+            return true;
+        }
+        WildcardTrie wildcards = authorities.getWildcards();
+        return wildcards != null && wildcards.matches(code);
+    }
+
+    private EffectiveAuthorities create(Long userId, List<String> roleCodes, List<String> permissionCodes,
+                                        Set<Long> roleIds, Set<Long> permissionIds) {
+        WildcardTrie wildcards = WildcardTrie.of(permissionCodes);
+        Set<String> effectiveCodes = expand(permissionCodes, wildcards);
+        return new EffectiveAuthorities(userId, roleCodes, permissionCodes,
+                compile(roleDictionary, roleCodes.toArray(new String[0])),
+                compile(permissionDictionary, effectiveCodes.toArray(new String[0])),
+                roleIds, permissionIds, wildcards);
+    }
+
+    /**
+     * 按权限层级展开直接授予的权限，通配符授权展开为权限目录中与之匹配的权限
+     */
+    private Set<String> expand(List<String> permissionCodes, WildcardTrie wildcards) {
+        Set<String> effectiveCodes = new HashSet<>();
+        for (String code : permissionCodes) {
+            if (WildcardTrie.isWildcard(code)) {
+                continue;
+            }
+            if (hierarchy == null) {
+                effectiveCodes.add(code);
+            } else {
+                effectiveCodes.addAll(hierarchy.impliedCodes(code));
+            }
+        }
+        if (wildcards != null && hierarchy != null) {
+            for (String catalogCode : hierarchy.catalogCodes()) {
+                if (wildcards.matches(catalogCode)) {
+                    effectiveCodes.addAll(hierarchy.impliedCodes(catalogCode));
+                }
+            }
+        }
+        return effectiveCodes;
+    }
+
+    private static AuthorityMask compile(CodeDictionary dictionary, String[] codes) {
+        int[] ids = new int[codes.length];
+        int count = 0;
+        for (String code : codes) {
+            if (code != null) {
+                ids[count++] = dictionary.intern(code);
+            }
+        }
+        return AuthorityMask.of(count == ids.length ? ids : Arrays.copyOf(ids, count));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.System.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 代码字典
+ * 将角色代码、权限代码映射为从0开始的稠密整数ID，ID一经分配不再变化
+ */
+public final class CodeDictionary {
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    private final Map<Integer, String> codes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    /**
+     * 获取代码对应的ID，不存在时分配新ID
+     */
+    public int intern(String code) {
+        Integer id = ids.get(code);
+        if (id != null) {
+            return id;
+        }
+        return ids.computeIfAbsent(code, key -> {
+            int newId = sequence.getAndIncrement();
+            codes.put(newId, key);
+            return newId;
+        });
+    }
+
+    /**
+     * 获取ID对应的代码，不存在时返回null
+     */
+    public String codeOf(int id) {
+        return codes.get(id);
+    }
+
+    /**
+     * 获取代码对应的ID，不存在时返回-1
+     */
+    public int lookup(String code) {
+        Integer id = ids.get(code);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * 已分配的ID数量
+     */
+    public int size() {
+        return sequence.get();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.System.security;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 用户的有效角色与权限
+ * 同时保留直接授予的代码列表和对应的位图，位图用于鉴权判断（已按权限层级展开），
+ * 角色ID和权限ID用于缓存的精确失效，通配符授权保存在前缀树中
+ */
+public final class EffectiveAuthorities {
+
+    private final Long userId;
+
+    private final List<String> roleCodes;
+
+    private final List<String> permissionCodes;
+
+    private final AuthorityMask roles;
+
+    private final AuthorityMask permissions;
+
+    private final Set<Long> roleIds;
+
+    private final Set<Long> permissionIds;
+
+    private final WildcardTrie wildcards;
+
+    public EffectiveAuthorities(Long userId, List<String> roleCodes, List<String> permissionCodes,
+                                AuthorityMask roles, AuthorityMask permissions,
+                                Set<Long> roleIds, Set<Long> permissionIds, WildcardTrie wildcards) {
+        this.userId = userId;
+        this.roleCodes = List.copyOf(roleCodes);
+        this.permissionCodes = List.copyOf(permissionCodes);
+        this.roles = roles;
+        this.permissions = permissions;
+        this.roleIds = Set.copyOf(roleIds);
+        this.permissionIds = Set.copyOf(permissionIds);
+        this.wildcards = wildcards;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public List<String> getRoleCodes() {
+        return roleCodes;
+    }
+
+    public List<String> getPermissionCodes() {
+        return permissionCodes;
+    }
+
+    public AuthorityMask getRoles() {
+        return roles;
+    }
+
+    public AuthorityMask getPermissions() {
+        return permissions;
+    }
+
+    /**
+     * 通配符授权，没有时为null
+     */
+    public WildcardTrie getWildcards() {
+        return wildcards;
+    }
+
+    /**
+     * 是否由指定角色授予（直接拥有该角色）
+     */
+    public boolean hasRoleId(Long roleId) {
+        return roleIds.contains(roleId);
+    }
+
+    /**
+     * 是否包含指定权限
+     */
+    public boolean hasPermissionId(Long permissionId) {
+        return permissionIds.contains(permissionId);
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.System.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 登录限流
+ * 按用户名统计失败次数、按客户端IP统计尝试次数，超过阈值的登录在查询用户和计算BCrypt之前被拒绝。
+ * 计数采用滑动窗口（当前窗口计数加上按剩余比例折算的上一窗口计数），每个键一个计数器，
+ * 计数器存放在有容量上限的Caffeine缓存中，长时间不活跃的键自动淘汰。
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final boolean enabled;
+
+    private final SlidingWindow byUsername;
+
+    private final SlidingWindow byIp;
+
+    private final Counter usernameThrottled;
+
+    private final Counter ipThrottled;
+
+    public LoginRateLimiter(@Value("${app.login-limit.enabled:true}") boolean enabled,
+                            @Value("${app.login-limit.username.max-failures:5}") int usernameMaxFailures,
+                            @Value("${app.login-limit.username.window:15m}") Duration usernameWindow,
+                            @Value("${app.login-limit.ip.max-attempts:100}") int ipMaxAttempts,
+                            @Value("${app.login-limit.ip.window:1m}") Duration ipWindow,
+                            @Value("${app.login-limit.max-keys:100000}") long maxKeys,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.byUsername = new SlidingWindow(usernameMaxFailures, usernameWindow, maxKeys);
+        this.byIp = new SlidingWindow(ipMaxAttempts, ipWindow, maxKeys);
+        this.usernameThrottled = Counter.builder("login.throttled").tag("key", "username").register(meterRegistry);
+        this.ipThrottled = Counter.builder("login.throttled").tag("key", "ip").register(meterRegistry);
+        Gauge.builder("login.limiter.keys", byUsername, SlidingWindow::size).tag("key", "username").register(meterRegistry);
+        Gauge.builder("login.limiter.keys", byIp, SlidingWindow::size).tag("key", "ip").register(meterRegistry);
+    }
+
+    /**
+     * 登录前调用，本次尝试计入IP计数
+     * @return 需要等待的秒数，0表示放行
+     */
+    public long tryAcquire(String username, String ip) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long wait = byUsername.waitNanos(String.valueOf(username), now, false);
+        if (wait > 0) {
+            usernameThrottled.increment();
+            return toSeconds(wait);
+        }
+        wait = byIp.waitNanos(String.valueOf(ip), now, true);
+        if (wait > 0) {
+            ipThrottled.increment();
+            return toSeconds(wait);
+        }
+        return 0;
+    }
+
+    /**
+     * 登录失败（用户不存在或密码错误），计入用户名失败次数
+     */
+    public void onFailure(String username) {
+        if (enabled) {
+            byUsername.hit(String.valueOf(username), System.nanoTime());
+        }
+    }
+
+    /**
+     * 登录成功，清除用户名失败次数
+     */
+    public void onSuccess(String username) {
+        if (enabled) {
+            byUsername.reset(String.valueOf(username));
+        }
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    static final class SlidingWindow {
+
+        private final int limit;
+
+        private final long windowNanos;
+
+        private final Cache<String, WindowCounter> counters;
+
+        SlidingWindow(int limit, Duration window, long maxKeys) {
+            this.limit = limit;
+            this.windowNanos = window.toNanos();
+            // 两个窗口内没有访问的计数器已归零，可以淘汰
+            this.counters = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(window.multipliedBy(2))
+                    .build();
+        }
+
+        void hit(String key, long now) {
+            counters.get(key, k -> new WindowCounter(now)).hit(now, windowNanos);
+        }
+
+        /**
+         * 达到阈值时返回恢复前需等待的纳秒数，否则返回0；count为true时本次尝试一并计入，被拒绝的尝试不计数
+         */
+        long waitNanos(String key, long now, boolean count) {
+            WindowCounter counter = count ? counters.get(key, k -> new WindowCounter(now)) : counters.getIfPresent(key);
+            if (counter == null) {
+                return 0;
+            }
+            return counter.waitNanos(now, windowNanos, limit, count);
+        }
+
+        void reset(String key) {
+            counters.invalidate(key);
+        }
+
+        long size() {
+            return counters.estimatedSize();
+        }
+    }
+
+    /**
+     * 单个键的计数器，只在该键上同步，不同键之间互不竞争
+     */
+    static final class WindowCounter {
+
+        private long windowStart;
+
+        private long previous;
+
+        private long current;
+
+        WindowCounter(long now) {
+            this.windowStart = now;
+        }
+
+        synchronized void hit(long now, long windowNanos) {
+            roll(now, windowNanos);
+            current++;
+        }
+
+        synchronized long waitNanos(long now, long windowNanos, int limit, boolean count) {
+            roll(now, windowNanos);
+            // 按计入本次尝试后的计数判定，放行时才真正计数，被限流的客户端持续重试不会延长锁定
+            long pending = count ? current + 1 : current;
+            long elapsed = now - windowStart;
+            // 上一窗口按剩余比例折算
+            double estimate = previous * (1 - (double) elapsed / windowNanos) + pending;
+            if (estimate < limit) {
+                current = pending;
+                return 0;
+            }
+            if (pending < limit) {
+                // 本窗口内上一窗口的折算值衰减到阈值以下即可
+                return (long) (windowNanos * (1 - (double) (limit - pending) / previous)) - elapsed + 1;
+            }
+            // 本窗口计数已超限，需等到下一窗口中其折算值衰减到阈值以下
+            return windowNanos - elapsed + (long) (windowNanos * (1 - (double) limit / pending)) + 1;
+        }
+
+        private void roll(long now, long windowNanos) {
+            long elapsed = now - windowStart;
+            if (elapsed < windowNanos) {
+                return;
+            }
+            previous = elapsed < 2 * windowNanos ? current : 0;
+            current = 0;
+            windowStart = now - elapsed % windowNanos;
+        }
+    }
+}
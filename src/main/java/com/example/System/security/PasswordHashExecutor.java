@@ -0,0 +1,104 @@
+package com.example.System.security;
+
+import cn.hutool.crypto.digest.BCrypt;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 密码哈希专用线程池
+ * BCrypt计算放在固定大小、有界队列的线程池中执行，登录高峰时不会占满Web容器的工作线程；
+ * 队列已满时立即拒绝（抛出RejectedExecutionException），由调用方返回503。
+ * 指标：password.hash（计算耗时，按operation区分）、password.hash.wait（排队耗时）、
+ * password.hash.queue（排队数）、password.hash.active（计算中的任务数）、password.hash.rejected（拒绝次数）
+ */
+@Component
+public class PasswordHashExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    private final Duration retryAfter;
+
+    private final Timer hashTimer;
+
+    private final Timer verifyTimer;
+
+    private final Timer waitTimer;
+
+    private final Counter rejected;
+
+    public PasswordHashExecutor(@Value("${app.password-hash.threads:0}") int threads,
+                                @Value("${app.password-hash.queue-capacity:200}") int queueCapacity,
+                                @Value("${app.password-hash.retry-after:1s}") Duration retryAfter,
+                                MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfter = retryAfter;
+        this.hashTimer = Timer.builder("password.hash").tag("operation", "hash").register(meterRegistry);
+        this.verifyTimer = Timer.builder("password.hash").tag("operation", "verify").register(meterRegistry);
+        this.waitTimer = Timer.builder("password.hash.wait").register(meterRegistry);
+        this.rejected = Counter.builder("password.hash.rejected").register(meterRegistry);
+        Gauge.builder("password.hash.queue", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    /**
+     * 异步计算密码哈希
+     */
+    public CompletableFuture<String> hash(String password) {
+        return submit(hashTimer, () -> BCrypt.hashpw(password, BCrypt.gensalt()));
+    }
+
+    /**
+     * 异步校验密码
+     */
+    public CompletableFuture<Boolean> verify(String password, String hashed) {
+        return submit(verifyTimer, () -> BCrypt.checkpw(password, hashed));
+    }
+
+    /**
+     * 被拒绝后建议客户端等待的秒数
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, retryAfter.toSeconds());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> submit(Timer timer, Supplier<T> task) {
+        long submitTime = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                waitTimer.record(System.nanoTime() - submitTime, TimeUnit.NANOSECONDS);
+                return timer.record(task);
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.System.security;
+
+import com.example.System.annotation.RequirePermission;
+import com.example.System.entity.Permission;
+import com.example.System.entity.Role;
+
+import java.util.Collection;
+
+/**
+ * 权限判定引擎
+ * 负责将角色/权限代码编译为位图，并按照{@link RequirePermission.Logical}语义进行判定
+ */
+public interface PermissionEngine {
+
+    /**
+     * 将角色代码编译为位图
+     */
+    AuthorityMask compileRoles(String... roleCodes);
+
+    /**
+     * 将权限代码编译为位图
+     */
+    AuthorityMask compilePermissions(String... permissionCodes);
+
+    /**
+     * 根据用户拥有的角色和权限构建有效权限集合
+     */
+    EffectiveAuthorities build(Long userId, Collection<Role> roles, Collection<Permission> permissions);
+
+    /**
+     * 仅根据角色代码和权限代码构建有效权限集合（如来自已验签的token声明）
+     */
+    EffectiveAuthorities buildFromCodes(Long userId, Collection<String> roleCodes, Collection<String> permissionCodes);
+
+    /**
+     * 判断用户是否拥有所需角色中的任一个
+     */
+    boolean hasRoles(EffectiveAuthorities authorities, AuthorityMask requiredRoles);
+
+    /**
+     * 按照ANY/ALL语义判断用户是否拥有所需权限
+     */
+    boolean hasPermissions(EffectiveAuthorities authorities, AuthorityMask requiredPermissions, RequirePermission.Logical logical);
+
+    /**
+     * 判断用户是否拥有给定角色代码中的任一个
+     * 只查询字典、不分配新ID，用于调用方传入的任意代码，未知代码视为用户不拥有
+     */
+    boolean hasAnyRoleCode(EffectiveAuthorities authorities, String... roleCodes);
+
+    /**
+     * 按照ANY/ALL语义判断用户是否拥有给定权限代码
+     * 只查询字典、不分配新ID，用于调用方传入的任意代码，未知代码只与用户的通配符授权匹配
+     */
+    boolean hasPermissionCodes(EffectiveAuthorities authorities, RequirePermission.Logical logical, String... permissionCodes);
+}
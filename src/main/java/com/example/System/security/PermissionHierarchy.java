@@ -0,0 +1,221 @@
+package com.example.System.security;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.example.System.entity.Permission;
+import com.example.System.mapper.PermissionMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 权限层级
+ * 基于Permission.parentId维护权限树，拥有父权限即隐含拥有其全部子孙权限。
+ * 每个节点的闭包（自身及子孙代码）按需计算并缓存；权限新增、修改、删除时
+ * 只丢弃受影响祖先链上的闭包，其余闭包继续复用。
+ */
+@Component
+public class PermissionHierarchy {
+
+    private static final Logger logger = LoggerFactory.getLogger(PermissionHierarchy.class);
+
+    @Autowired
+    private PermissionMapper permissionMapper;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            reload();
+            logger.info("权限层级加载完成，共{}个权限", snapshot.nodes.size());
+        } catch (Exception e) {
+            logger.error("加载权限层级失败，层级与通配符授权将暂不生效: ", e);
+        }
+    }
+
+    /**
+     * 从数据库全量重建
+     */
+    public void reload() {
+        QueryWrapper<Permission> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("id", "permission_code", "parent_id");
+        List<Permission> permissions = permissionMapper.selectList(queryWrapper);
+        Map<Long, Node> nodes = new HashMap<>();
+        for (Permission permission : permissions) {
+            nodes.put(permission.getId(), Node.of(permission));
+        }
+        writeLock.lock();
+        try {
+            snapshot = new Snapshot(nodes, Map.of());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 权限新增或修改，返回受影响的权限ID（新旧祖先链）
+     */
+    public Set<Long> upsert(Permission permission) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            Set<Long> affected = current.ancestorsOf(permission.getId());
+            Map<Long, Node> nodes = new HashMap<>(current.nodes);
+            nodes.put(permission.getId(), Node.of(permission));
+            Snapshot next = new Snapshot(nodes, Map.of());
+            affected.addAll(next.ancestorsOf(permission.getId()));
+            snapshot = new Snapshot(nodes, current.retainClosures(affected));
+            return affected;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 权限删除，返回受影响的权限ID（祖先链）；其子权限成为根节点
+     */
+    public Set<Long> remove(Long permissionId) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            Set<Long> affected = current.ancestorsOf(permissionId);
+            Map<Long, Node> nodes = new HashMap<>(current.nodes);
+            nodes.remove(permissionId);
+            snapshot = new Snapshot(nodes, current.retainClosures(affected));
+            return affected;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 权限代码自身及其全部子孙权限代码
+     */
+    public Set<String> impliedCodes(String code) {
+        return snapshot.impliedCodes(code);
+    }
+
+    /**
+     * 权限目录中的全部代码
+     */
+    public Collection<String> catalogCodes() {
+        return snapshot.idsByCode.keySet();
+    }
+
+    private static final class Node {
+
+        private final Long id;
+
+        private final String code;
+
+        private final Long parentId;
+
+        private Node(Long id, String code, Long parentId) {
+            this.id = id;
+            this.code = code;
+            this.parentId = parentId;
+        }
+
+        private static Node of(Permission permission) {
+            return new Node(permission.getId(), permission.getPermissionCode(), permission.getParentId());
+        }
+    }
+
+    /**
+     * 不可变的层级快照，闭包缓存随快照一起替换
+     */
+    private static final class Snapshot {
+
+        private final Map<Long, Node> nodes;
+
+        private final Map<Long, List<Long>> children = new HashMap<>();
+
+        private final Map<String, Long> idsByCode = new HashMap<>();
+
+        private final Map<Long, Set<String>> closures;
+
+        private Snapshot(Map<Long, Node> nodes, Map<Long, Set<String>> closures) {
+            this.nodes = nodes;
+            this.closures = new ConcurrentHashMap<>(closures);
+            for (Node node : nodes.values()) {
+                if (node.code != null) {
+                    idsByCode.put(node.code, node.id);
+                }
+                if (node.parentId != null && nodes.containsKey(node.parentId)) {
+                    children.computeIfAbsent(node.parentId, key -> new ArrayList<>()).add(node.id);
+                }
+            }
+        }
+
+        private Set<String> impliedCodes(String code) {
+            Long id = idsByCode.get(code);
+            if (id == null) {
+                return Set.of(code);
+            }
+            Set<String> closure = closures.get(id);
+            if (closure == null) {
+                closure = computeClosure(id);
+                closures.put(id, closure);
+            }
+            return closure;
+        }
+
+        private Set<String> computeClosure(Long rootId) {
+            Set<String> codes = new LinkedHashSet<>();
+            Set<Long> visited = new HashSet<>();
+            Deque<Long> stack = new ArrayDeque<>();
+            stack.push(rootId);
+            while (!stack.isEmpty()) {
+                Long id = stack.pop();
+                if (!visited.add(id)) {
+                    continue;
+                }
+                Node node = nodes.get(id);
+                if (node != null && node.code != null) {
+                    codes.add(node.code);
+                }
+                for (Long childId : children.getOrDefault(id, List.of())) {
+                    stack.push(childId);
+                }
+            }
+            return Set.copyOf(codes);
+        }
+
+        /**
+         * 节点自身及其全部祖先
+         */
+        private Set<Long> ancestorsOf(Long id) {
+            Set<Long> ancestors = new HashSet<>();
+            Long current = id;
+            while (current != null && ancestors.add(current)) {
+                Node node = nodes.get(current);
+                current = node == null ? null : node.parentId;
+            }
+            return ancestors;
+        }
+
+        private Map<Long, Set<String>> retainClosures(Set<Long> affected) {
+            Map<Long, Set<String>> retained = new HashMap<>(closures);
+            retained.keySet().removeAll(affected);
+            return retained;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.System.security;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 权限策略版本表
+ * 所有版本号取自同一个单调递增的时钟：用户级变更只推进该用户的版本，
+ * 角色/权限级变更推进全局版本。用户的当前版本为二者的较大值，
+ * token中携带签发时的版本，不相等即说明签发后权限发生过变化。
+ * 时钟以启动时刻（微秒）为起点，重启前签发的token不会与重启后的版本相等。
+ * 角色目录和权限目录另有各自的版本，供列表接口生成ETag，取自同一时钟。
+ */
+@Component
+public class PolicyVersionRegistry {
+
+    private final AtomicLong clock = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private volatile long globalVersion = clock.get();
+
+    private final Map<Long, Long> userVersions = new ConcurrentHashMap<>();
+
+    private volatile long roleCatalogVersion = globalVersion;
+
+    private volatile long permissionCatalogVersion = globalVersion;
+
+    /**
+     * 获取用户当前的策略版本
+     */
+    public long current(Long userId) {
+        long global = globalVersion;
+        Long userVersion = userVersions.get(userId);
+        return userVersion == null ? global : Math.max(global, userVersion);
+    }
+
+    /**
+     * 用户的角色分配发生变化
+     */
+    public void bumpUser(Long userId) {
+        userVersions.put(userId, clock.incrementAndGet());
+    }
+
+    public void bumpUsers(Collection<Long> userIds) {
+        long version = clock.incrementAndGet();
+        for (Long userId : userIds) {
+            userVersions.put(userId, version);
+        }
+    }
+
+    /**
+     * 角色或权限发生变化，所有用户的版本一并推进
+     */
+    public void bumpAll() {
+        globalVersion = clock.incrementAndGet();
+        // 全局版本已大于所有用户版本，旧的用户版本不再有意义
+        userVersions.values().removeIf(version -> version < globalVersion);
+    }
+
+    /**
+     * 角色目录的当前版本，任何角色的新增、修改、删除都会推进
+     */
+    public long roleCatalogVersion() {
+        return roleCatalogVersion;
+    }
+
+    /**
+     * 权限目录的当前版本，任何权限的新增、修改、删除都会推进
+     */
+    public long permissionCatalogVersion() {
+        return permissionCatalogVersion;
+    }
+
+    public void bumpRoleCatalog() {
+        roleCatalogVersion = clock.incrementAndGet();
+    }
+
+    public void bumpPermissionCatalog() {
+        permissionCatalogVersion = clock.incrementAndGet();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.System.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * RBAC变更通知
+ * 写操作成功后调用，统一失效权限缓存并推进策略版本。
+ * 在事务中调用时推迟到事务提交后执行，避免提交前重新加载到旧数据。
+ */
+@Component
+public class RbacChangeNotifier {
+
+    @Autowired
+    private AuthorityCache authorityCache;
+
+    @Autowired
+    private PolicyVersionRegistry policyVersionRegistry;
+
+    /**
+     * 用户的角色分配发生变化
+     */
+    public void userRolesChanged(Long userId) {
+        afterCommit(() -> {
+            authorityCache.invalidateUser(userId);
+            policyVersionRegistry.bumpUser(userId);
+        });
+    }
+
+    /**
+     * 多个用户的角色分配发生变化
+     */
+    public void userRolesChanged(Collection<Long> userIds) {
+        afterCommit(() -> {
+            authorityCache.invalidateUsers(userIds);
+            policyVersionRegistry.bumpUsers(userIds);
+        });
+    }
+
+    /**
+     * 新增角色，尚无用户和权限关联，只推进角色目录版本
+     */
+    public void roleCreated() {
+        afterCommit(policyVersionRegistry::bumpRoleCatalog);
+    }
+
+    /**
+     * 角色被修改、删除，或角色的权限关系发生变化
+     */
+    public void roleChanged(Long roleId) {
+        afterCommit(() -> {
+            authorityCache.invalidateRole(roleId);
+            policyVersionRegistry.bumpRoleCatalog();
+            policyVersionRegistry.bumpAll();
+        });
+    }
+
+    /**
+     * 权限被新增、修改或删除，affectedPermissionIds为该权限及其在权限层级中的祖先
+     */
+    public void permissionsChanged(Collection<Long> affectedPermissionIds) {
+        afterCommit(() -> {
+            authorityCache.invalidatePermissions(affectedPermissionIds);
+            policyVersionRegistry.bumpPermissionCatalog();
+            policyVersionRegistry.bumpAll();
+        });
+    }
+
+    /**
+     * 同上，受影响的权限ID在事务提交后才计算，用于提交后才更新权限层级的场景（如删除权限）
+     */
+    public void permissionsChanged(Supplier<Collection<Long>> affectedPermissionIds) {
+        afterCommit(() -> {
+            authorityCache.invalidatePermissions(affectedPermissionIds.get());
+            policyVersionRegistry.bumpPermissionCatalog();
+            policyVersionRegistry.bumpAll();
+        });
+    }
+
+    /**
+     * 整体策略被替换（如批量导入），失效全部缓存
+     */
+    public void policyChanged() {
+        afterCommit(() -> {
+            authorityCache.invalidateAll();
+            policyVersionRegistry.bumpRoleCatalog();
+            policyVersionRegistry.bumpPermissionCatalog();
+            policyVersionRegistry.bumpAll();
+        });
+    }
+
+    /**
+     * 在事务提交后执行，不在事务中时立即执行；用于更新与数据库对应的内存结构（如角色继承层级），
+     * 事务回滚时不执行。须在对应的变更通知之前调用，使失效后重新加载的权限基于更新后的结构
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.System.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * RBAC只读接口的ETag
+ * 由策略版本表中的版本号生成强ETag，客户端携带If-None-Match轮询时，版本未变化直接返回304，不查询数据库也不序列化响应。
+ * 版本在变更事务提交后才推进（见{@link RbacChangeNotifier}），接口须先取ETag再查询数据：
+ * 这样ETag对应的数据只会比版本新，不会出现新版本搭配旧数据被客户端缓存的情况。
+ * 软删除同样经过RbacChangeNotifier推进版本，已删除的数据不会以旧ETag继续命中。
+ * 版本只在本实例内有效，ETag中带有实例标识，多实例部署时不同实例的ETag不会误判相等。
+ * 列表接口的ETag还包含规范化后的查询参数（筛选条件、游标、页码、每页条数），不同的页和筛选条件互不命中。
+ */
+@Component
+public class RbacETags {
+
+    private final String instanceId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+    @Autowired
+    private PolicyVersionRegistry policyVersionRegistry;
+
+    /**
+     * 角色列表某一页的ETag
+     */
+    public String roles(String roleCode, String cursor, Integer page, int size) {
+        return etag("roles", policyVersionRegistry.roleCatalogVersion(),
+                "roleCode", roleCode, "cursor", cursor, "page", page, "size", size);
+    }
+
+    /**
+     * 权限列表某一页的ETag
+     */
+    public String permissions(String permissionCode, String resourceType, Long parentId,
+                              String cursor, Integer page, int size) {
+        return etag("permissions", policyVersionRegistry.permissionCatalogVersion(),
+                "permissionCode", permissionCode, "resourceType", resourceType, "parentId", parentId,
+                "cursor", cursor, "page", page, "size", size);
+    }
+
+    /**
+     * 用户权限的ETag，用户策略版本覆盖了角色分配、角色和权限的变化
+     */
+    public String userPermissions(Long userId) {
+        return etag("user-permissions", policyVersionRegistry.current(userId));
+    }
+
+    private String etag(String resource, long version) {
+        return "\"" + resource + "-" + instanceId + "-" + Long.toHexString(version) + "\"";
+    }
+
+    /**
+     * 查询参数按固定顺序拼接在版本之后，未传或为空的参数省略，与服务层忽略空筛选条件一致；
+     * 参数值经URL编码，不会出现ETag中不允许的引号等字符
+     */
+    private String etag(String resource, long version, Object... query) {
+        StringBuilder etag = new StringBuilder(64).append('"').append(resource).append('-').append(instanceId)
+                .append('-').append(Long.toHexString(version));
+        for (int i = 0; i < query.length; i += 2) {
+            Object value = query[i + 1];
+            if (value == null || value.toString().isEmpty()) {
+                continue;
+            }
+            etag.append('-').append(query[i]).append('=')
+                    .append(URLEncoder.encode(value.toString(), StandardCharsets.UTF_8));
+        }
+        return etag.append('"').toString();
+    }
+}
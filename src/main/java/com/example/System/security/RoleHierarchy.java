@@ -0,0 +1,246 @@
+package com.example.System.security;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.example.System.entity.RoleInherit;
+import com.example.System.mapper.RoleInheritMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 角色继承层级
+ * 上级角色继承下级角色的全部权限，继承关系可传递。每个角色的传递闭包（自身及全部被继承角色）
+ * 按需计算并缓存；继承关系变化时只丢弃上级角色及其祖先的闭包，写入前检测循环继承。
+ */
+@Component
+public class RoleHierarchy {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoleHierarchy.class);
+
+    @Autowired
+    private RoleInheritMapper roleInheritMapper;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            reload();
+            logger.info("角色继承层级加载完成，共{}个上级角色", snapshot.juniors.size());
+        } catch (Exception e) {
+            logger.error("加载角色继承层级失败，角色继承将暂不生效: ", e);
+        }
+    }
+
+    /**
+     * 从数据库全量重建
+     */
+    public void reload() {
+        QueryWrapper<RoleInherit> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("role_id", "inherit_role_id");
+        List<RoleInherit> edges = roleInheritMapper.selectList(queryWrapper);
+        Map<Long, Set<Long>> juniors = new HashMap<>();
+        for (RoleInherit edge : edges) {
+            juniors.computeIfAbsent(edge.getRoleId(), key -> new HashSet<>()).add(edge.getInheritRoleId());
+        }
+        writeLock.lock();
+        try {
+            snapshot = new Snapshot(juniors, Map.of());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 检查roleId继承inheritRoleId是否会形成循环，会则抛出异常
+     */
+    public void checkInherit(Long roleId, Long inheritRoleId) {
+        snapshot.checkAcyclic(roleId, inheritRoleId);
+    }
+
+    /**
+     * 新增继承关系，返回闭包受影响的角色ID（上级角色及其祖先）
+     */
+    public Set<Long> addInherit(Long roleId, Long inheritRoleId) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            current.checkAcyclic(roleId, inheritRoleId);
+            Map<Long, Set<Long>> juniors = current.copyJuniors();
+            juniors.computeIfAbsent(roleId, key -> new HashSet<>()).add(inheritRoleId);
+            Set<Long> affected = current.ancestorsOf(roleId);
+            snapshot = new Snapshot(juniors, current.retainClosures(affected));
+            return affected;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 删除继承关系，返回闭包受影响的角色ID（上级角色及其祖先）
+     */
+    public Set<Long> removeInherit(Long roleId, Long inheritRoleId) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            Map<Long, Set<Long>> juniors = current.copyJuniors();
+            Set<Long> inherited = juniors.get(roleId);
+            if (inherited != null) {
+                inherited.remove(inheritRoleId);
+                if (inherited.isEmpty()) {
+                    juniors.remove(roleId);
+                }
+            }
+            Set<Long> affected = current.ancestorsOf(roleId);
+            snapshot = new Snapshot(juniors, current.retainClosures(affected));
+            return affected;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 角色被删除，移除其全部继承关系，返回闭包受影响的角色ID（该角色及其祖先）
+     */
+    public Set<Long> removeRole(Long roleId) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            Map<Long, Set<Long>> juniors = current.copyJuniors();
+            juniors.remove(roleId);
+            juniors.values().forEach(inherited -> inherited.remove(roleId));
+            juniors.values().removeIf(Set::isEmpty);
+            Set<Long> affected = current.ancestorsOf(roleId);
+            snapshot = new Snapshot(juniors, current.retainClosures(affected));
+            return affected;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 角色自身及其直接、间接继承的全部角色ID
+     */
+    public Set<Long> closureOf(Long roleId) {
+        return snapshot.closureOf(roleId);
+    }
+
+    /**
+     * 直接分配的角色通过继承额外获得的角色ID，不含直接分配的角色；没有继承关系时为空集
+     */
+    public Set<Long> inheritedRoleIds(Collection<Long> directRoleIds) {
+        Snapshot current = snapshot;
+        if (current.juniors.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> inherited = new HashSet<>();
+        for (Long roleId : directRoleIds) {
+            inherited.addAll(current.closureOf(roleId));
+        }
+        inherited.removeAll(directRoleIds);
+        return inherited;
+    }
+
+    /**
+     * 是否存在任何继承关系
+     */
+    public boolean isEmpty() {
+        return snapshot.juniors.isEmpty();
+    }
+
+    /**
+     * 不可变的继承关系快照，闭包缓存随快照一起替换
+     */
+    private static final class Snapshot {
+
+        /**
+         * 上级角色 -> 直接继承的下级角色
+         */
+        private final Map<Long, Set<Long>> juniors;
+
+        /**
+         * 下级角色 -> 直接继承它的上级角色
+         */
+        private final Map<Long, Set<Long>> seniors = new HashMap<>();
+
+        private final Map<Long, Set<Long>> closures;
+
+        private Snapshot(Map<Long, Set<Long>> juniors, Map<Long, Set<Long>> closures) {
+            this.juniors = juniors;
+            this.closures = new ConcurrentHashMap<>(closures);
+            juniors.forEach((roleId, inherited) -> {
+                for (Long inheritRoleId : inherited) {
+                    seniors.computeIfAbsent(inheritRoleId, key -> new HashSet<>()).add(roleId);
+                }
+            });
+        }
+
+        private Set<Long> closureOf(Long roleId) {
+            if (!juniors.containsKey(roleId)) {
+                return Set.of(roleId);
+            }
+            Set<Long> closure = closures.get(roleId);
+            if (closure == null) {
+                closure = Set.copyOf(reachable(juniors, roleId));
+                closures.put(roleId, closure);
+            }
+            return closure;
+        }
+
+        private void checkAcyclic(Long roleId, Long inheritRoleId) {
+            if (roleId.equals(inheritRoleId) || closureOf(inheritRoleId).contains(roleId)) {
+                throw new RuntimeException("角色继承存在循环: " + roleId + " -> " + inheritRoleId);
+            }
+        }
+
+        /**
+         * 角色自身及其全部祖先（直接或间接继承它的角色）
+         */
+        private Set<Long> ancestorsOf(Long roleId) {
+            return reachable(seniors, roleId);
+        }
+
+        private Map<Long, Set<Long>> copyJuniors() {
+            Map<Long, Set<Long>> copy = new HashMap<>();
+            juniors.forEach((roleId, inherited) -> copy.put(roleId, new HashSet<>(inherited)));
+            return copy;
+        }
+
+        private Map<Long, Set<Long>> retainClosures(Set<Long> affected) {
+            Map<Long, Set<Long>> retained = new HashMap<>(closures);
+            retained.keySet().removeAll(affected);
+            return retained;
+        }
+
+        private static Set<Long> reachable(Map<Long, Set<Long>> edges, Long rootId) {
+            Set<Long> visited = new HashSet<>();
+            Deque<Long> stack = new ArrayDeque<>();
+            stack.push(rootId);
+            while (!stack.isEmpty()) {
+                Long id = stack.pop();
+                if (visited.add(id)) {
+                    for (Long next : edges.getOrDefault(id, Set.of())) {
+                        stack.push(next);
+                    }
+                }
+            }
+            return visited;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.System.security;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 已验签的token声明
+ * 由{@code JwtUtil.verify}一次解析得到，鉴权通过后存入请求属性，后续无需再次解析token
+ * roles/permissions/policyVersion用于信任token声明的鉴权模式
+ */
+public final class TokenClaims {
+
+    /**
+     * 请求属性名
+     */
+    public static final String REQUEST_ATTRIBUTE = "tokenClaims";
+
+    private final String username;
+
+    private final Long userId;
+
+    private final String role;
+
+    private final List<String> permissions;
+
+    private final List<String> roleCodes;
+
+    private final Long policyVersion;
+
+    private final Date expiration;
+
+    /**
+     * 由声明构建的有效权限，首次使用时计算（派生数据，不影响声明本身的不可变性）
+     */
+    private volatile EffectiveAuthorities authorities;
+
+    public TokenClaims(String username, Long userId, String role, String permissions, String roleCodes,
+                       Long policyVersion, Date expiration) {
+        this.username = username;
+        this.userId = userId;
+        this.role = role;
+        this.permissions = split(permissions);
+        this.roleCodes = split(roleCodes);
+        this.policyVersion = policyVersion;
+        this.expiration = expiration == null ? null : new Date(expiration.getTime());
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public List<String> getPermissions() {
+        return permissions;
+    }
+
+    public List<String> getRoleCodes() {
+        return roleCodes;
+    }
+
+    /**
+     * 签发时的策略版本，旧token中不存在时为null
+     */
+    public Long getPolicyVersion() {
+        return policyVersion;
+    }
+
+    public Date getExpiration() {
+        return expiration == null ? null : new Date(expiration.getTime());
+    }
+
+    /**
+     * 由token中的角色和权限代码构建有效权限
+     */
+    public EffectiveAuthorities toAuthorities(PermissionEngine permissionEngine) {
+        EffectiveAuthorities result = authorities;
+        if (result == null) {
+            result = permissionEngine.buildFromCodes(userId, roleCodes, permissions);
+            authorities = result;
+        }
+        return result;
+    }
+
+    private static List<String> split(String codes) {
+        return codes == null || codes.isEmpty() ? List.of() : List.copyOf(Arrays.asList(codes.split(",")));
+    }
+}
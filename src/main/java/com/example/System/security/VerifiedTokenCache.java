@@ -0,0 +1,86 @@
+package com.example.System.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * 已验签token缓存
+ * 以token原文为键（哈希定位，equals完整比对，不存在摘要碰撞的风险），
+ * 条目最迟在token自身的exp时刻过期，容量满时按W-TinyLFU淘汰
+ */
+@Component
+public class VerifiedTokenCache {
+
+    public static final String CACHE_NAME = "verifiedTokens";
+
+    private final Cache<String, TokenClaims> cache;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.cache.maximum-size:50000}") long maximumSize,
+                              @Value("${jwt.cache.max-ttl:1h}") Duration maxTtl,
+                              MeterRegistry meterRegistry) {
+        if (!enabled) {
+            this.cache = null;
+            return;
+        }
+        long maxTtlNanos = maxTtl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, TokenClaims>() {
+                    @Override
+                    public long expireAfterCreate(String token, TokenClaims claims, long currentTime) {
+                        return Math.min(maxTtlNanos, nanosUntilExpiration(claims));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, TokenClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, TokenClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * 获取已验签的声明，未命中或缓存关闭时返回null
+     */
+    public TokenClaims get(String token) {
+        return cache == null ? null : cache.getIfPresent(token);
+    }
+
+    public void put(String token, TokenClaims claims) {
+        if (cache != null && claims.getExpiration() != null) {
+            cache.put(token, claims);
+        }
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    private static long nanosUntilExpiration(TokenClaims claims) {
+        Date expiration = claims.getExpiration();
+        long millis = expiration.getTime() - System.currentTimeMillis();
+        return millis <= 0 ? 0 : Duration.ofMillis(millis).toNanos();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.System.security;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 通配符权限的分段前缀树
+ * 权限代码按":"分段，"*"匹配任意一段，位于末尾的"*"匹配剩余的一段或多段，
+ * 例如"user:*"匹配"user:view"、"user:role:manage"，"*:view"匹配"user:view"。
+ * 匹配耗时只与代码的段数有关，与通配符数量无关。
+ */
+public final class WildcardTrie {
+
+    public static final String WILDCARD = "*";
+
+    private static final String SEPARATOR = ":";
+
+    private final Node root = new Node();
+
+    private WildcardTrie() {
+    }
+
+    /**
+     * 代码是否包含通配符
+     */
+    public static boolean isWildcard(String code) {
+        return code.contains(WILDCARD);
+    }
+
+    /**
+     * 由通配符代码构建前缀树，不含通配符时返回null
+     */
+    public static WildcardTrie of(Collection<String> patterns) {
+        WildcardTrie trie = null;
+        for (String pattern : patterns) {
+            if (isWildcard(pattern)) {
+                if (trie == null) {
+                    trie = new WildcardTrie();
+                }
+                trie.add(pattern);
+            }
+        }
+        return trie;
+    }
+
+    private void add(String pattern) {
+        Node node = root;
+        for (String segment : pattern.split(SEPARATOR)) {
+            if (WILDCARD.equals(segment)) {
+                if (node.any == null) {
+                    node.any = new Node();
+                }
+                node = node.any;
+            } else {
+                node = node.children.computeIfAbsent(segment, key -> new Node());
+            }
+        }
+        node.terminal = true;
+    }
+
+    /**
+     * 权限代码是否被任一通配符匹配
+     */
+    public boolean matches(String code) {
+        return matches(code.split(SEPARATOR), 0, root);
+    }
+
+    private static boolean matches(String[] segments, int index, Node node) {
+        if (index == segments.length) {
+            return node.terminal;
+        }
+        // 末尾的"*"吞掉剩余所有段
+        if (node.any != null && (node.any.terminal || matches(segments, index + 1, node.any))) {
+            return true;
+        }
+        Node child = node.children.get(segments[index]);
+        return child != null && matches(segments, index + 1, child);
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+
+        private Node any;
+
+        private boolean terminal;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.System.service;
+
+import com.example.System.dto.AuthzCheckRequest;
+
+import java.util.BitSet;
+import java.util.List;
+
+public interface AuthzService {
+
+    /**
+     * 批量判定用户是否满足角色/权限要求，第i位对应第i个条目
+     */
+    BitSet check(List<AuthzCheckRequest.Check> checks);
+}
@@ -0,0 +1,18 @@
+package com.example.System.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Set;
+
+public interface ExportService {
+    
+    /**
+     * 支持导出的表名
+     */
+    Set<String> tables();
+    
+    /**
+     * 按主键升序将表中id大于afterId的全部行以NDJSON格式写入输出流，返回写出的行数
+     */
+    long export(String table, Long afterId, OutputStream out) throws IOException;
+}
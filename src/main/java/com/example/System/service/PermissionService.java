@@ -1,9 +1,13 @@
 package com.example.System.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.example.System.common.PageResult;
 import com.example.System.entity.Permission;
+import com.example.System.security.EffectiveAuthorities;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface PermissionService extends IService<Permission> {
     
@@ -12,6 +16,21 @@ public interface PermissionService extends IService<Permission> {
      */
     List<Permission> getPermissionsByUserId(Long userId);
     
+    /**
+     * 根据用户ID获取有效角色与权限（位图形式，用于鉴权判定）
+     */
+    EffectiveAuthorities getAuthoritiesByUserId(Long userId);
+    
+    /**
+     * 批量获取多个用户的有效角色与权限
+     */
+    Map<Long, EffectiveAuthorities> getAuthoritiesByUserIds(Collection<Long> userIds);
+    
+    /**
+     * 直接从数据库加载用户的有效角色与权限，不经过缓存
+     */
+    EffectiveAuthorities loadAuthoritiesByUserId(Long userId);
+    
     /**
      * 根据角色ID获取权限列表
      */
@@ -21,4 +40,25 @@ public interface PermissionService extends IService<Permission> {
      * 根据权限代码获取权限
      */
     Permission getByPermissionCode(String permissionCode);
-}
\ No newline at end of file
+    
+    /**
+     * 创建权限
+     */
+    boolean createPermission(Permission permission);
+    
+    /**
+     * 更新权限
+     */
+    boolean updatePermission(Permission permission);
+    
+    /**
+     * 删除权限
+     */
+    boolean deletePermission(Long permissionId);
+    
+    /**
+     * 分页查询权限，permissionCode按前缀匹配
+     */
+    PageResult<Permission> pagePermissions(String permissionCode, String resourceType, Long parentId,
+                                           String cursor, Integer page, int size);
+}
@@ -0,0 +1,20 @@
+package com.example.System.service;
+
+import com.example.System.dto.PolicyApplyResult;
+import com.example.System.dto.PolicyDocument;
+
+public interface PolicyService {
+    
+    /**
+     * 将策略文档与当前角色、权限、授权做集合差异，只写入差异部分
+     *
+     * @param dryRun 只计算差异，不写入
+     * @param prune  删除文档中未出现的角色和权限
+     */
+    PolicyApplyResult apply(PolicyDocument document, boolean dryRun, boolean prune);
+    
+    /**
+     * 导出当前策略，可直接作为apply的输入
+     */
+    PolicyDocument export();
+}
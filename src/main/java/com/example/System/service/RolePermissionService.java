@@ -0,0 +1,25 @@
+package com.example.System.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.example.System.entity.RolePermission;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface RolePermissionService extends IService<RolePermission> {
+    
+    /**
+     * 查询多个角色当前有效的授权
+     */
+    List<RolePermission> getGrantsByRoleIds(Collection<Long> roleIds);
+    
+    /**
+     * 批量授权，已存在的授权不做改动；不负责失效权限缓存，由调用方通知
+     */
+    void grant(Collection<RolePermission> grants);
+    
+    /**
+     * 批量取消授权；不负责失效权限缓存，由调用方通知
+     */
+    void revoke(Collection<RolePermission> grants);
+}
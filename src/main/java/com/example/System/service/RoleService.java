@@ -1,6 +1,7 @@
 package com.example.System.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.example.System.common.PageResult;
 import com.example.System.entity.Role;
 
 import java.util.List;
@@ -16,4 +17,34 @@ public interface RoleService extends IService<Role> {
      * 根据角色代码获取角色
      */
     Role getByRoleCode(String roleCode);
-}
\ No newline at end of file
+    
+    /**
+     * 创建角色
+     */
+    boolean createRole(Role role);
+    
+    /**
+     * 更新角色
+     */
+    boolean updateRole(Role role);
+    
+    /**
+     * 删除角色
+     */
+    boolean deleteRole(Long roleId);
+    
+    /**
+     * 新增角色继承关系：roleId继承inheritRoleId的全部权限
+     */
+    boolean addRoleInherit(Long roleId, Long inheritRoleId);
+    
+    /**
+     * 删除角色继承关系
+     */
+    boolean removeRoleInherit(Long roleId, Long inheritRoleId);
+    
+    /**
+     * 分页查询角色，roleCode按前缀匹配
+     */
+    PageResult<Role> pageRoles(String roleCode, String cursor, Integer page, int size);
+}
@@ -0,0 +1,20 @@
+package com.example.System.service;
+
+import com.example.System.dto.UserImportProgress;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface UserImportService {
+    
+    /**
+     * 将上传内容暂存后提交导入任务，返回任务ID
+     * @param format csv或ndjson
+     */
+    String submit(InputStream in, String format) throws IOException;
+    
+    /**
+     * 查询任务进度，任务不存在或已过期时返回null
+     */
+    UserImportProgress getProgress(String jobId);
+}
@@ -1,6 +1,8 @@
 package com.example.System.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.example.System.dto.UserRoleBatchResponse;
+import com.example.System.dto.UserRolePair;
 import com.example.System.entity.UserRole;
 
 import java.util.List;
@@ -13,7 +15,7 @@ public interface UserRoleService extends IService<UserRole> {
     List<Long> getRoleIdsByUserId(Long userId);
     
     /**
-     * 分配用户角色
+     * 分配用户角色，返回false表示该分配已存在，未做改动
      */
     boolean assignUserRole(Long userId, Long roleId);
     
@@ -21,4 +23,14 @@ public interface UserRoleService extends IService<UserRole> {
      * 取消用户角色
      */
     boolean removeUserRole(Long userId, Long roleId);
-}
\ No newline at end of file
+    
+    /**
+     * 批量分配用户角色，返回与输入顺序一致的处理结果
+     */
+    List<UserRoleBatchResponse.Outcome> assignUserRoles(List<UserRolePair> pairs);
+    
+    /**
+     * 批量取消用户角色，返回与输入顺序一致的处理结果
+     */
+    List<UserRoleBatchResponse.Outcome> removeUserRoles(List<UserRolePair> pairs);
+}
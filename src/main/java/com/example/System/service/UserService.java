@@ -1,16 +1,20 @@
 package com.example.System.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.example.System.common.PageResult;
 import com.example.System.dto.LoginRequest;
 import com.example.System.dto.LoginResponse;
 import com.example.System.entity.User;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface UserService extends IService<User> {
     
     /**
-     * 用户登录
+     * 用户登录，密码校验在密码哈希线程池中异步执行
+     * @throws java.util.concurrent.RejectedExecutionException 密码哈希线程池已满
      */
-    LoginResponse login(LoginRequest loginRequest);
+    CompletableFuture<LoginResponse> login(LoginRequest loginRequest);
     
     /**
      * 根据用户名查找用户
@@ -18,7 +22,13 @@ public interface UserService extends IService<User> {
     User findByUsername(String username);
     
     /**
-     * 用户注册
+     * 用户注册，密码加密在密码哈希线程池中异步执行
+     * @throws java.util.concurrent.RejectedExecutionException 密码哈希线程池已满
+     */
+    CompletableFuture<Boolean> register(User user);
+    
+    /**
+     * 分页查询用户（不含密码），username按前缀匹配
      */
-    boolean register(User user);
+    PageResult<User> pageUsers(String username, String role, String cursor, Integer page, int size);
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.example.System.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.example.System.annotation.RequirePermission;
+import com.example.System.dto.AuthzCheckRequest;
+import com.example.System.entity.User;
+import com.example.System.mapper.UserMapper;
+import com.example.System.security.EffectiveAuthorities;
+import com.example.System.security.PermissionEngine;
+import com.example.System.service.AuthzService;
+import com.example.System.service.PermissionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class AuthzServiceImpl implements AuthzService {
+
+    @Autowired
+    private PermissionService permissionService;
+
+    @Autowired
+    private PermissionEngine permissionEngine;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Override
+    public BitSet check(List<AuthzCheckRequest.Check> checks) {
+        Set<Long> userIds = new HashSet<>();
+        for (AuthzCheckRequest.Check check : checks) {
+            if (check.getUserId() != null) {
+                userIds.add(check.getUserId());
+            }
+        }
+        // 不存在或已删除的用户一律拒绝，其遗留的角色分配不参与判定
+        Set<Long> existingUserIds = new HashSet<>();
+        if (!userIds.isEmpty()) {
+            userMapper.selectList(new QueryWrapper<User>().select("id").in("id", userIds))
+                    .forEach(user -> existingUserIds.add(user.getId()));
+        }
+        // 缓存未命中的用户合并为一次多用户查询
+        Map<Long, EffectiveAuthorities> authoritiesByUser = existingUserIds.isEmpty()
+                ? Map.of() : permissionService.getAuthoritiesByUserIds(existingUserIds);
+
+        // 代码由调用方传入，只查询字典不分配新ID，避免任意代码撑大全局字典和位图宽度
+        BitSet result = new BitSet(checks.size());
+        for (int i = 0; i < checks.size(); i++) {
+            AuthzCheckRequest.Check check = checks.get(i);
+            EffectiveAuthorities authorities = authoritiesByUser.get(check.getUserId());
+            if (authorities == null) {
+                continue;
+            }
+            String[] roles = check.getRoles();
+            if (roles != null && roles.length > 0 && !permissionEngine.hasAnyRoleCode(authorities, roles)) {
+                continue;
+            }
+            String[] permissions = check.getPermissions();
+            RequirePermission.Logical logical = check.getLogical() == null
+                    ? RequirePermission.Logical.ANY : check.getLogical();
+            if (permissions != null && permissions.length > 0
+                    && !permissionEngine.hasPermissionCodes(authorities, logical, permissions)) {
+                continue;
+            }
+            result.set(i);
+        }
+        return result;
+    }
+}
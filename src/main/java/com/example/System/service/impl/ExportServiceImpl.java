@@ -0,0 +1,105 @@
+package com.example.System.service.impl;
+
+import com.example.System.mapper.ExportMapper;
+import com.example.System.service.ExportService;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.annotation.PostConstruct;
+import org.apache.ibatis.cursor.Cursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportServiceImpl.class);
+
+    @Autowired
+    private ExportMapper exportMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * 每写出多少行刷新一次输出流
+     */
+    @Value("${app.export.flush-rows:1000}")
+    private int flushRows;
+
+    private final Map<String, Function<Long, Cursor<?>>> sources = new LinkedHashMap<>();
+
+    private ObjectWriter ndjsonWriter;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void init() {
+        sources.put("users", exportMapper::streamUsers);
+        sources.put("user-roles", exportMapper::streamUserRoles);
+        sources.put("roles", exportMapper::streamRoles);
+        sources.put("permissions", exportMapper::streamPermissions);
+        sources.put("role-permissions", exportMapper::streamRolePermissions);
+        // 每行一个JSON对象，写完不关闭响应流
+        ndjsonWriter = objectMapper.copy()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false)
+                .writer()
+                .withRootValueSeparator("\n");
+        // Cursor只能在同一个SqlSession中遍历，借助只读事务保持会话，同时得到一致性快照
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public Set<String> tables() {
+        return sources.keySet();
+    }
+
+    @Override
+    public long export(String table, Long afterId, OutputStream out) throws IOException {
+        Function<Long, Cursor<?>> source = sources.get(table);
+        if (source == null) {
+            throw new IllegalArgumentException("不支持导出的表: " + table);
+        }
+        try {
+            Long count = readOnlyTransaction.execute(status -> {
+                long rows = 0;
+                try (Cursor<?> cursor = source.apply(afterId);
+                     SequenceWriter writer = ndjsonWriter.writeValues(out)) {
+                    for (Object row : cursor) {
+                        writer.write(row);
+                        if (++rows % flushRows == 0) {
+                            writer.flush();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return rows;
+            });
+            logger.info("导出完成: table={}, afterId={}, rows={}", table, afterId, count);
+            return count;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
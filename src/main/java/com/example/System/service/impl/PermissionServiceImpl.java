@@ -2,17 +2,34 @@ package com.example.System.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.example.System.common.PageResult;
+import com.example.System.dto.UserAuthorityRow;
 import com.example.System.entity.Permission;
 import com.example.System.entity.Role;
 import com.example.System.entity.RolePermission;
 import com.example.System.mapper.PermissionMapper;
 import com.example.System.mapper.RolePermissionMapper;
+import com.example.System.mapper.UserRoleMapper;
+import com.example.System.security.AuthorityCache;
+import com.example.System.security.EffectiveAuthorities;
+import com.example.System.security.PermissionEngine;
+import com.example.System.security.PermissionHierarchy;
+import com.example.System.security.RbacChangeNotifier;
+import com.example.System.security.RoleHierarchy;
 import com.example.System.service.PermissionService;
-import com.example.System.service.RoleService;
+import com.example.System.util.PageQueries;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,34 +39,51 @@ public class PermissionServiceImpl extends ServiceImpl<PermissionMapper, Permiss
     private RolePermissionMapper rolePermissionMapper;
     
     @Autowired
-    private RoleService roleService;
+    private PermissionEngine permissionEngine;
+
+    @Autowired
+    private AuthorityCache authorityCache;
+
+    @Autowired
+    private RbacChangeNotifier rbacChangeNotifier;
+
+    @Autowired
+    private PermissionHierarchy permissionHierarchy;
+
+    @Autowired
+    private RoleHierarchy roleHierarchy;
+
+    @Autowired
+    private UserRoleMapper userRoleMapper;
 
     @Override
     public List<Permission> getPermissionsByUserId(Long userId) {
-        // 获取用户的所有角色
-        List<Long> roleIds = roleService.getRolesByUserId(userId).stream()
-                .map(Role::getId)
-                .collect(Collectors.toList());
-        
-        if (roleIds.isEmpty()) {
-            return List.of();
+        if (roleHierarchy.isEmpty()) {
+            return baseMapper.selectByUserId(userId);
         }
-        
-        // 获取角色关联的所有权限ID
-        QueryWrapper<RolePermission> rpQueryWrapper = new QueryWrapper<>();
-        rpQueryWrapper.in("role_id", roleIds);
-        List<Long> permissionIds = rolePermissionMapper.selectList(rpQueryWrapper).stream()
-                .map(RolePermission::getPermissionId)
-                .collect(Collectors.toList());
-        
-        if (permissionIds.isEmpty()) {
+        // 直接分配的角色在内存中经继承闭包展开后，一次查询全部角色的权限
+        List<Long> directRoleIds = userRoleMapper.getRoleIdsByUserId(userId);
+        if (directRoleIds.isEmpty()) {
             return List.of();
         }
-        
-        // 获取权限详情
-        QueryWrapper<Permission> pQueryWrapper = new QueryWrapper<>();
-        pQueryWrapper.in("id", permissionIds);
-        return list(pQueryWrapper);
+        Set<Long> roleIds = new HashSet<>(directRoleIds);
+        roleIds.addAll(roleHierarchy.inheritedRoleIds(directRoleIds));
+        return baseMapper.selectByRoleIds(roleIds);
+    }
+
+    @Override
+    public EffectiveAuthorities getAuthoritiesByUserId(Long userId) {
+        return authorityCache.get(userId, this::loadAuthorities);
+    }
+
+    @Override
+    public Map<Long, EffectiveAuthorities> getAuthoritiesByUserIds(Collection<Long> userIds) {
+        return authorityCache.getAll(userIds, this::loadAuthorities);
+    }
+
+    @Override
+    public EffectiveAuthorities loadAuthoritiesByUserId(Long userId) {
+        return loadAuthorities(userId);
     }
 
     @Override
@@ -77,4 +111,112 @@ public class PermissionServiceImpl extends ServiceImpl<PermissionMapper, Permiss
         queryWrapper.eq("permission_code", permissionCode);
         return getOne(queryWrapper);
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean createPermission(Permission permission) {
+        boolean success = save(permission);
+        if (success) {
+            // 新权限挂在父权限下时，父权限的持有者随之获得该权限
+            rbacChangeNotifier.permissionsChanged(permissionHierarchy.upsert(getById(permission.getId())));
+        }
+        return success;
+    }
+
+    @Override
+    public boolean updatePermission(Permission permission) {
+        boolean success = updateById(permission);
+        if (success) {
+            // 更新可能只包含部分字段，以数据库中的最新数据为准
+            rbacChangeNotifier.permissionsChanged(permissionHierarchy.upsert(getById(permission.getId())));
+        }
+        return success;
+    }
+
+    @Override
+    @Transactional
+    public boolean deletePermission(Long permissionId) {
+        boolean success = removeById(permissionId);
+        if (success) {
+            // 授权一并逻辑删除，同代码权限被恢复时不会带回原有的授权
+            rolePermissionMapper.delete(new QueryWrapper<RolePermission>().eq("permission_id", permissionId));
+            // 权限层级在事务提交后再移除，回滚时保持与数据库一致
+            rbacChangeNotifier.permissionsChanged(() -> permissionHierarchy.remove(permissionId));
+        }
+        return success;
+    }
+
+    @Override
+    public PageResult<Permission> pagePermissions(String permissionCode, String resourceType, Long parentId,
+                                                  String cursor, Integer page, int size) {
+        QueryWrapper<Permission> queryWrapper = new QueryWrapper<>();
+        queryWrapper.likeRight(permissionCode != null && !permissionCode.isEmpty(), "permission_code", permissionCode)
+                .eq(resourceType != null && !resourceType.isEmpty(), "resource_type", resourceType)
+                .eq(parentId != null, "parent_id", parentId);
+        return PageQueries.query(this, queryWrapper, cursor, page, size, Permission::getId);
+    }
+
+    private EffectiveAuthorities loadAuthorities(Long userId) {
+        // 一条联表语句同时取得角色与权限代码
+        List<UserAuthorityRow> rows = baseMapper.selectAuthorityRowsByUserId(userId);
+        Set<Long> inheritedRoleIds = roleHierarchy.inheritedRoleIds(directRoleIds(rows));
+        if (inheritedRoleIds.isEmpty()) {
+            return buildAuthorities(userId, rows);
+        }
+        // 存在继承角色时再补一次查询
+        List<UserAuthorityRow> merged = new ArrayList<>(rows);
+        merged.addAll(baseMapper.selectAuthorityRowsByRoleIds(inheritedRoleIds));
+        return buildAuthorities(userId, merged);
+    }
+
+    private Map<Long, EffectiveAuthorities> loadAuthorities(Set<Long> userIds) {
+        Map<Long, List<UserAuthorityRow>> rowsByUser = baseMapper.selectAuthorityRowsByUserIds(userIds).stream()
+                .collect(Collectors.groupingBy(UserAuthorityRow::getUserId));
+        Map<Long, Set<Long>> inheritedByUser = new HashMap<>();
+        Set<Long> allInherited = new HashSet<>();
+        rowsByUser.forEach((userId, rows) -> {
+            Set<Long> inherited = roleHierarchy.inheritedRoleIds(directRoleIds(rows));
+            if (!inherited.isEmpty()) {
+                inheritedByUser.put(userId, inherited);
+                allInherited.addAll(inherited);
+            }
+        });
+        // 所有用户的继承角色合并为一次查询
+        Map<Long, List<UserAuthorityRow>> rowsByRole = allInherited.isEmpty() ? Map.of()
+                : baseMapper.selectAuthorityRowsByRoleIds(allInherited).stream()
+                .collect(Collectors.groupingBy(UserAuthorityRow::getRoleId));
+        Map<Long, EffectiveAuthorities> result = new HashMap<>();
+        for (Long userId : userIds) {
+            List<UserAuthorityRow> rows = rowsByUser.getOrDefault(userId, List.of());
+            Set<Long> inherited = inheritedByUser.get(userId);
+            if (inherited != null) {
+                rows = new ArrayList<>(rows);
+                for (Long roleId : inherited) {
+                    rows.addAll(rowsByRole.getOrDefault(roleId, List.of()));
+                }
+            }
+            result.put(userId, buildAuthorities(userId, rows));
+        }
+        return result;
+    }
+
+    private static Set<Long> directRoleIds(List<UserAuthorityRow> rows) {
+        Set<Long> roleIds = new HashSet<>();
+        for (UserAuthorityRow row : rows) {
+            roleIds.add(row.getRoleId());
+        }
+        return roleIds;
+    }
+
+    private EffectiveAuthorities buildAuthorities(Long userId, List<UserAuthorityRow> rows) {
+        Map<Long, Role> roles = new LinkedHashMap<>();
+        Map<Long, Permission> permissions = new LinkedHashMap<>();
+        for (UserAuthorityRow row : rows) {
+            roles.computeIfAbsent(row.getRoleId(), id -> new Role().setId(id).setRoleCode(row.getRoleCode()));
+            if (row.getPermissionId() != null) {
+                permissions.computeIfAbsent(row.getPermissionId(),
+                        id -> new Permission().setId(id).setPermissionCode(row.getPermissionCode()));
+            }
+        }
+        return permissionEngine.build(userId, roles.values(), permissions.values());
+    }
+}
@@ -0,0 +1,506 @@
+package com.example.System.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.example.System.dto.PolicyApplyResult;
+import com.example.System.dto.PolicyDocument;
+import com.example.System.dto.PolicyDocument.PermissionSpec;
+import com.example.System.dto.PolicyDocument.RoleSpec;
+import com.example.System.entity.Permission;
+import com.example.System.entity.Role;
+import com.example.System.entity.RoleInherit;
+import com.example.System.entity.RolePermission;
+import com.example.System.entity.UserRole;
+import com.example.System.mapper.PermissionMapper;
+import com.example.System.mapper.RoleInheritMapper;
+import com.example.System.mapper.RoleMapper;
+import com.example.System.mapper.RolePermissionMapper;
+import com.example.System.mapper.UserRoleMapper;
+import com.example.System.security.PermissionHierarchy;
+import com.example.System.security.RbacChangeNotifier;
+import com.example.System.security.RoleHierarchy;
+import com.example.System.service.PermissionService;
+import com.example.System.service.PolicyService;
+import com.example.System.service.RolePermissionService;
+import com.example.System.service.RoleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Service
+public class PolicyServiceImpl implements PolicyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyServiceImpl.class);
+
+    /**
+     * 没有父权限时parent_id的取值
+     */
+    private static final Long ROOT_PARENT_ID = 0L;
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private PermissionService permissionService;
+
+    @Autowired
+    private RolePermissionService rolePermissionService;
+
+    @Autowired
+    private RoleMapper roleMapper;
+
+    @Autowired
+    private PermissionMapper permissionMapper;
+
+    @Autowired
+    private RoleInheritMapper roleInheritMapper;
+
+    @Autowired
+    private RolePermissionMapper rolePermissionMapper;
+
+    @Autowired
+    private UserRoleMapper userRoleMapper;
+
+    @Autowired
+    private PermissionHierarchy permissionHierarchy;
+
+    @Autowired
+    private RoleHierarchy roleHierarchy;
+
+    @Autowired
+    private RbacChangeNotifier rbacChangeNotifier;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * 批量语句每条包含的行数
+     */
+    @Value("${app.policy.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public PolicyApplyResult apply(PolicyDocument document, boolean dryRun, boolean prune) {
+        long start = System.currentTimeMillis();
+        Map<String, RoleSpec> roleSpecs = indexRoles(document.getRoles());
+        Map<String, PermissionSpec> permissionSpecs = indexPermissions(document.getPermissions());
+
+        // 读取当前状态、计算差异和写入在同一事务中完成，避免期间提交的变更被覆盖或重复插入
+        PolicyApplyResult result = transactionTemplate.execute(
+                status -> diffAndApply(document, roleSpecs, permissionSpecs, dryRun, prune));
+        boolean changed = result.getRolesCreated() + result.getRolesUpdated() + result.getRolesDeleted()
+                + result.getPermissionsCreated() + result.getPermissionsUpdated() + result.getPermissionsDeleted()
+                + result.getGrantsAdded() + result.getGrantsRemoved() > 0;
+        if (!dryRun && changed) {
+            // 事务提交后再刷新内存中的层级与缓存，恢复的角色其继承关系已被清除，同样需要重新加载
+            permissionHierarchy.reload();
+            if (result.getRolesDeleted() > 0 || result.getRolesCreated() > 0) {
+                roleHierarchy.reload();
+            }
+            rbacChangeNotifier.policyChanged();
+        }
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        logger.info("策略应用完成: dryRun={}, prune={}, result={}", dryRun, prune, result);
+        return result;
+    }
+
+    private PolicyApplyResult diffAndApply(PolicyDocument document, Map<String, RoleSpec> roleSpecs,
+                                           Map<String, PermissionSpec> permissionSpecs, boolean dryRun, boolean prune) {
+        // 当前状态一次性读入内存；写入时对角色、权限加锁读，其他事务对角色、权限及授权的写入等待本事务结束
+        Map<String, Role> currentRoles = roleService.list(new QueryWrapper<Role>().last(!dryRun, "FOR UPDATE")).stream()
+                .collect(Collectors.toMap(Role::getRoleCode, role -> role));
+        List<Permission> permissionRows = permissionService.list(new QueryWrapper<Permission>().last(!dryRun, "FOR UPDATE"));
+        Map<String, Permission> currentPermissions = permissionRows.stream()
+                .collect(Collectors.toMap(Permission::getPermissionCode, permission -> permission));
+        Map<Long, String> permissionCodesById = permissionRows.stream()
+                .collect(Collectors.toMap(Permission::getId, Permission::getPermissionCode));
+
+        Set<String> knownPermissionCodes = new HashSet<>(permissionSpecs.keySet());
+        if (!prune) {
+            knownPermissionCodes.addAll(currentPermissions.keySet());
+        }
+        Map<String, Set<String>> desiredGrants = indexGrants(document.getGrants(), roleSpecs, knownPermissionCodes);
+        for (PermissionSpec spec : permissionSpecs.values()) {
+            if (spec.getParentCode() != null && !knownPermissionCodes.contains(spec.getParentCode())) {
+                throw new RuntimeException("父权限不存在: " + spec.getPermissionCode() + " -> " + spec.getParentCode());
+            }
+        }
+        checkParentCycles(permissionSpecs, prune ? Map.of() : currentPermissions, permissionCodesById);
+
+        // 角色差异
+        List<RoleSpec> rolesToCreate = new ArrayList<>();
+        List<Role> rolesToUpdate = new ArrayList<>();
+        for (RoleSpec spec : roleSpecs.values()) {
+            Role current = currentRoles.get(spec.getRoleCode());
+            if (current == null) {
+                rolesToCreate.add(spec);
+            } else if (differs(current.getRoleName(), spec.getRoleName())
+                    || differs(current.getDescription(), spec.getDescription())) {
+                rolesToUpdate.add(toRole(spec).setId(current.getId()));
+            }
+        }
+        List<Long> rolesToDelete = prune ? currentRoles.values().stream()
+                .filter(role -> !roleSpecs.containsKey(role.getRoleCode()))
+                .map(Role::getId).collect(Collectors.toList()) : List.of();
+
+        // 权限差异，父权限按代码比较
+        List<PermissionSpec> permissionsToCreate = new ArrayList<>();
+        List<PermissionSpec> permissionsToUpdate = new ArrayList<>();
+        for (PermissionSpec spec : permissionSpecs.values()) {
+            Permission current = currentPermissions.get(spec.getPermissionCode());
+            if (current == null) {
+                permissionsToCreate.add(spec);
+            } else if (differs(current.getPermissionName(), spec.getPermissionName())
+                    || differs(current.getResourceType(), spec.getResourceType())
+                    || differs(current.getResourceUrl(), spec.getResourceUrl())
+                    || differs(current.getDescription(), spec.getDescription())
+                    || !Objects.equals(permissionCodesById.get(current.getParentId()), spec.getParentCode())) {
+                permissionsToUpdate.add(spec);
+            }
+        }
+        List<Long> permissionsToDelete = prune ? currentPermissions.values().stream()
+                .filter(permission -> !permissionSpecs.containsKey(permission.getPermissionCode()))
+                .map(Permission::getId).collect(Collectors.toList()) : List.of();
+
+        // 授权差异，以(角色代码, 权限代码)比较，新建的角色和权限不需要先有ID
+        Map<String, Set<String>> currentGrants = new HashMap<>();
+        Map<Long, String> roleCodesById = new HashMap<>();
+        for (String roleCode : roleSpecs.keySet()) {
+            Role current = currentRoles.get(roleCode);
+            if (current != null) {
+                roleCodesById.put(current.getId(), roleCode);
+            }
+        }
+        for (RolePermission grant : rolePermissionService.getGrantsByRoleIds(roleCodesById.keySet())) {
+            String permissionCode = permissionCodesById.get(grant.getPermissionId());
+            if (permissionCode != null) {
+                currentGrants.computeIfAbsent(roleCodesById.get(grant.getRoleId()), key -> new HashSet<>())
+                        .add(permissionCode);
+            }
+        }
+        Map<String, Set<String>> grantsToAdd = new LinkedHashMap<>();
+        Map<String, Set<String>> grantsToRemove = new LinkedHashMap<>();
+        diffGrants(roleSpecs.keySet(), desiredGrants, currentGrants, prune, grantsToAdd, grantsToRemove);
+
+        PolicyApplyResult result = new PolicyApplyResult();
+        result.setDryRun(dryRun);
+        result.setRolesCreated(rolesToCreate.size());
+        result.setRolesUpdated(rolesToUpdate.size());
+        result.setRolesDeleted(rolesToDelete.size());
+        result.setPermissionsCreated(permissionsToCreate.size());
+        result.setPermissionsUpdated(permissionsToUpdate.size());
+        result.setPermissionsDeleted(permissionsToDelete.size());
+        result.setGrantsAdded(grantsToAdd.values().stream().mapToInt(Set::size).sum());
+        result.setGrantsRemoved(grantsToRemove.values().stream().mapToInt(Set::size).sum());
+
+        if (!dryRun) {
+            applyRoles(rolesToCreate, rolesToUpdate, rolesToDelete);
+            applyPermissions(permissionSpecs, permissionsToCreate, permissionsToUpdate, permissionsToDelete);
+            applyGrants(roleSpecs.keySet(), permissionSpecs.keySet(), grantsToAdd, grantsToRemove);
+        }
+        return result;
+    }
+
+    /**
+     * 计算文档中各角色的授权差异
+     * 未清理(prune=false)时，grants中未列出的角色保留现有授权不做改动；清理时视为该角色不应有任何授权
+     */
+    static void diffGrants(Collection<String> roleCodes, Map<String, Set<String>> desiredGrants,
+                           Map<String, Set<String>> currentGrants, boolean prune,
+                           Map<String, Set<String>> toAdd, Map<String, Set<String>> toRemove) {
+        for (String roleCode : roleCodes) {
+            if (!prune && !desiredGrants.containsKey(roleCode)) {
+                continue;
+            }
+            Set<String> desired = desiredGrants.getOrDefault(roleCode, Set.of());
+            Set<String> current = currentGrants.getOrDefault(roleCode, Set.of());
+            Set<String> added = new LinkedHashSet<>(desired);
+            added.removeAll(current);
+            Set<String> removed = new LinkedHashSet<>(current);
+            removed.removeAll(desired);
+            if (!added.isEmpty()) {
+                toAdd.put(roleCode, added);
+            }
+            if (!removed.isEmpty()) {
+                toRemove.put(roleCode, removed);
+            }
+        }
+    }
+
+    @Override
+    public PolicyDocument export() {
+        List<Role> roles = roleService.list();
+        List<Permission> permissions = permissionService.list();
+        Map<Long, String> roleCodesById = roles.stream().collect(Collectors.toMap(Role::getId, Role::getRoleCode));
+        Map<Long, String> permissionCodesById = permissions.stream()
+                .collect(Collectors.toMap(Permission::getId, Permission::getPermissionCode));
+
+        Map<String, List<String>> grants = new TreeMap<>();
+        for (RolePermission grant : rolePermissionService.getGrantsByRoleIds(roleCodesById.keySet())) {
+            String permissionCode = permissionCodesById.get(grant.getPermissionId());
+            if (permissionCode != null) {
+                grants.computeIfAbsent(roleCodesById.get(grant.getRoleId()), key -> new ArrayList<>())
+                        .add(permissionCode);
+            }
+        }
+        grants.values().forEach(codes -> codes.sort(null));
+
+        return new PolicyDocument()
+                .setRoles(roles.stream().map(role -> new RoleSpec()
+                        .setRoleCode(role.getRoleCode())
+                        .setRoleName(role.getRoleName())
+                        .setDescription(role.getDescription())).collect(Collectors.toList()))
+                .setPermissions(permissions.stream().map(permission -> new PermissionSpec()
+                        .setPermissionCode(permission.getPermissionCode())
+                        .setPermissionName(permission.getPermissionName())
+                        .setResourceType(permission.getResourceType())
+                        .setResourceUrl(permission.getResourceUrl())
+                        .setParentCode(permissionCodesById.get(permission.getParentId()))
+                        .setDescription(permission.getDescription())).collect(Collectors.toList()))
+                .setGrants(grants);
+    }
+
+    private void applyRoles(List<RoleSpec> toCreate, List<Role> toUpdate, List<Long> toDelete) {
+        List<Role> updates = new ArrayList<>(toUpdate);
+        if (!toCreate.isEmpty()) {
+            // 同代码的角色曾被逻辑删除时恢复原行，避免uk_role_code冲突
+            List<String> codes = toCreate.stream().map(RoleSpec::getRoleCode).collect(Collectors.toList());
+            forEachChunk(codes, chunk -> roleMapper.restoreByRoleCodes(chunk));
+            Map<String, Long> restoredIds = new HashMap<>();
+            forEachChunk(codes, chunk -> roleService.list(new QueryWrapper<Role>().select("id", "role_code")
+                    .in("role_code", chunk)).forEach(role -> restoredIds.put(role.getRoleCode(), role.getId())));
+            // 恢复的角色按新建处理：清除删除前遗留的授权、用户分配和继承关系，授权随后按文档重新写入
+            forEachChunk(new ArrayList<>(restoredIds.values()), this::deleteRoleRelations);
+            List<Role> inserts = new ArrayList<>();
+            for (RoleSpec spec : toCreate) {
+                Long restoredId = restoredIds.get(spec.getRoleCode());
+                if (restoredId == null) {
+                    inserts.add(toRole(spec));
+                } else {
+                    updates.add(toRole(spec).setId(restoredId));
+                }
+            }
+            if (!inserts.isEmpty()) {
+                roleService.saveBatch(inserts, batchSize);
+            }
+        }
+        if (!updates.isEmpty()) {
+            roleService.updateBatchById(updates, batchSize);
+        }
+        if (!toDelete.isEmpty()) {
+            forEachChunk(toDelete, chunk -> {
+                roleService.removeByIds(chunk);
+                deleteRoleRelations(chunk);
+            });
+        }
+    }
+
+    private void applyPermissions(Map<String, PermissionSpec> specs, List<PermissionSpec> toCreate,
+                                  List<PermissionSpec> toUpdate, List<Long> toDelete) {
+        List<PermissionSpec> updates = new ArrayList<>(toUpdate);
+        if (!toCreate.isEmpty()) {
+            List<String> codes = toCreate.stream().map(PermissionSpec::getPermissionCode).collect(Collectors.toList());
+            forEachChunk(codes, chunk -> permissionMapper.restoreByPermissionCodes(chunk));
+            Map<String, Long> restoredIds = new HashMap<>();
+            forEachChunk(codes, chunk -> permissionService.list(new QueryWrapper<Permission>().select("id", "permission_code")
+                    .in("permission_code", chunk))
+                    .forEach(permission -> restoredIds.put(permission.getPermissionCode(), permission.getId())));
+            // 恢复的权限清除删除前遗留的授权，授权随后按文档重新写入
+            forEachChunk(new ArrayList<>(restoredIds.values()), this::deletePermissionGrants);
+            Set<String> restoredCodes = restoredIds.keySet();
+            List<Permission> inserts = new ArrayList<>();
+            for (PermissionSpec spec : toCreate) {
+                if (restoredCodes.contains(spec.getPermissionCode())) {
+                    updates.add(spec);
+                } else {
+                    // 父权限可能也是本次新建的，ID确定后再统一设置
+                    inserts.add(toPermission(spec).setParentId(ROOT_PARENT_ID));
+                    if (spec.getParentCode() != null) {
+                        updates.add(spec);
+                    }
+                }
+            }
+            if (!inserts.isEmpty()) {
+                permissionService.saveBatch(inserts, batchSize);
+            }
+        }
+        if (!toDelete.isEmpty()) {
+            forEachChunk(toDelete, chunk -> {
+                permissionService.removeByIds(chunk);
+                deletePermissionGrants(chunk);
+            });
+        }
+        if (!updates.isEmpty()) {
+            Map<String, Long> ids = permissionIds();
+            List<Permission> permissions = new ArrayList<>(updates.size());
+            for (PermissionSpec spec : updates) {
+                Long parentId = spec.getParentCode() == null ? ROOT_PARENT_ID : ids.get(spec.getParentCode());
+                permissions.add(toPermission(specs.get(spec.getPermissionCode()))
+                        .setId(ids.get(spec.getPermissionCode()))
+                        .setParentId(parentId));
+            }
+            permissionService.updateBatchById(permissions, batchSize);
+        }
+    }
+
+    private void applyGrants(Collection<String> roleCodes, Collection<String> permissionCodes,
+                             Map<String, Set<String>> toAdd, Map<String, Set<String>> toRemove) {
+        if (toAdd.isEmpty() && toRemove.isEmpty()) {
+            return;
+        }
+        Map<String, Long> roleIds = new HashMap<>();
+        forEachChunk(new ArrayList<>(roleCodes), chunk -> roleService.list(new QueryWrapper<Role>()
+                .select("id", "role_code").in("role_code", chunk))
+                .forEach(role -> roleIds.put(role.getRoleCode(), role.getId())));
+        Map<String, Long> permissionIds = permissionIds();
+        rolePermissionService.revoke(toGrants(toRemove, roleIds, permissionIds));
+        rolePermissionService.grant(toGrants(toAdd, roleIds, permissionIds));
+    }
+
+    /**
+     * 逻辑删除角色的授权、用户分配和继承关系
+     */
+    private void deleteRoleRelations(List<Long> roleIds) {
+        rolePermissionMapper.delete(new QueryWrapper<RolePermission>().in("role_id", roleIds));
+        userRoleMapper.delete(new QueryWrapper<UserRole>().in("role_id", roleIds));
+        roleInheritMapper.delete(new QueryWrapper<RoleInherit>()
+                .in("role_id", roleIds).or().in("inherit_role_id", roleIds));
+    }
+
+    private void deletePermissionGrants(List<Long> permissionIds) {
+        rolePermissionMapper.delete(new QueryWrapper<RolePermission>().in("permission_id", permissionIds));
+    }
+
+    private Map<String, Long> permissionIds() {
+        return permissionService.list(new QueryWrapper<Permission>().select("id", "permission_code")).stream()
+                .collect(Collectors.toMap(Permission::getPermissionCode, Permission::getId));
+    }
+
+    private static List<RolePermission> toGrants(Map<String, Set<String>> grants, Map<String, Long> roleIds,
+                                                 Map<String, Long> permissionIds) {
+        List<RolePermission> result = new ArrayList<>();
+        grants.forEach((roleCode, codes) -> {
+            for (String permissionCode : codes) {
+                result.add(new RolePermission()
+                        .setRoleId(roleIds.get(roleCode))
+                        .setPermissionId(permissionIds.get(permissionCode)));
+            }
+        });
+        return result;
+    }
+
+    private <T> void forEachChunk(List<T> items, Consumer<List<T>> action) {
+        for (int from = 0; from < items.size(); from += batchSize) {
+            action.accept(items.subList(from, Math.min(from + batchSize, items.size())));
+        }
+    }
+
+    private static Map<String, RoleSpec> indexRoles(List<RoleSpec> roles) {
+        Map<String, RoleSpec> index = new LinkedHashMap<>();
+        for (RoleSpec spec : roles == null ? List.<RoleSpec>of() : roles) {
+            if (spec.getRoleCode() == null || spec.getRoleCode().isBlank() || spec.getRoleName() == null) {
+                throw new RuntimeException("角色代码和名称不能为空");
+            }
+            if (index.put(spec.getRoleCode(), spec) != null) {
+                throw new RuntimeException("角色代码重复: " + spec.getRoleCode());
+            }
+        }
+        return index;
+    }
+
+    private static Map<String, PermissionSpec> indexPermissions(List<PermissionSpec> permissions) {
+        Map<String, PermissionSpec> index = new LinkedHashMap<>();
+        for (PermissionSpec spec : permissions == null ? List.<PermissionSpec>of() : permissions) {
+            if (spec.getPermissionCode() == null || spec.getPermissionCode().isBlank() || spec.getPermissionName() == null) {
+                throw new RuntimeException("权限代码和名称不能为空");
+            }
+            if (index.put(spec.getPermissionCode(), spec) != null) {
+                throw new RuntimeException("权限代码重复: " + spec.getPermissionCode());
+            }
+        }
+        return index;
+    }
+
+    private static Map<String, Set<String>> indexGrants(Map<String, List<String>> grants, Map<String, RoleSpec> roles,
+                                                        Set<String> knownPermissionCodes) {
+        Map<String, Set<String>> index = new HashMap<>();
+        if (grants == null) {
+            return index;
+        }
+        grants.forEach((roleCode, permissionCodes) -> {
+            if (!roles.containsKey(roleCode)) {
+                throw new RuntimeException("授权引用了文档中未定义的角色: " + roleCode);
+            }
+            Set<String> codes = new LinkedHashSet<>();
+            for (String permissionCode : permissionCodes == null ? List.<String>of() : permissionCodes) {
+                if (!knownPermissionCodes.contains(permissionCode)) {
+                    throw new RuntimeException("授权引用了不存在的权限: " + roleCode + " -> " + permissionCode);
+                }
+                codes.add(permissionCode);
+            }
+            index.put(roleCode, codes);
+        });
+        return index;
+    }
+
+    /**
+     * 检查应用后的权限父子关系是否成环，未清理时文档未包含的权限沿用数据库中的父权限
+     */
+    private static void checkParentCycles(Map<String, PermissionSpec> specs, Map<String, Permission> currentPermissions,
+                                          Map<Long, String> permissionCodesById) {
+        Map<String, String> parents = new HashMap<>();
+        currentPermissions.forEach((code, permission) -> parents.put(code, permissionCodesById.get(permission.getParentId())));
+        specs.forEach((code, spec) -> parents.put(code, spec.getParentCode()));
+        Set<String> acyclic = new HashSet<>();
+        for (String code : parents.keySet()) {
+            Set<String> path = new LinkedHashSet<>();
+            String current = code;
+            while (current != null && !acyclic.contains(current)) {
+                if (!path.add(current)) {
+                    throw new RuntimeException("权限父子关系存在循环: " + String.join(" -> ", path) + " -> " + current);
+                }
+                current = parents.get(current);
+            }
+            acyclic.addAll(path);
+        }
+    }
+
+    /**
+     * 文档中未填写(null)的描述性字段视为保持不变
+     */
+    private static boolean differs(String current, String desired) {
+        return desired != null && !desired.equals(current);
+    }
+
+    private static Role toRole(RoleSpec spec) {
+        return new Role()
+                .setRoleCode(spec.getRoleCode())
+                .setRoleName(spec.getRoleName())
+                .setDescription(spec.getDescription());
+    }
+
+    private static Permission toPermission(PermissionSpec spec) {
+        return new Permission()
+                .setPermissionCode(spec.getPermissionCode())
+                .setPermissionName(spec.getPermissionName())
+                .setResourceType(spec.getResourceType())
+                .setResourceUrl(spec.getResourceUrl())
+                .setDescription(spec.getDescription());
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.System.service.impl;
+
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.example.System.entity.RolePermission;
+import com.example.System.mapper.RolePermissionMapper;
+import com.example.System.service.RolePermissionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+public class RolePermissionServiceImpl extends ServiceImpl<RolePermissionMapper, RolePermission> implements RolePermissionService {
+
+    /**
+     * 批量操作每条语句包含的授权数量
+     */
+    @Value("${app.role-permission.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public List<RolePermission> getGrantsByRoleIds(Collection<Long> roleIds) {
+        if (roleIds.isEmpty()) {
+            return List.of();
+        }
+        return baseMapper.selectGrantsByRoleIds(roleIds);
+    }
+
+    @Override
+    public void grant(Collection<RolePermission> grants) {
+        for (List<RolePermission> chunk : chunks(grants)) {
+            baseMapper.insertOrRestoreGrants(chunk);
+        }
+    }
+
+    @Override
+    public void revoke(Collection<RolePermission> grants) {
+        for (List<RolePermission> chunk : chunks(grants)) {
+            baseMapper.deleteGrants(chunk);
+        }
+    }
+
+    private List<List<RolePermission>> chunks(Collection<RolePermission> grants) {
+        List<RolePermission> all = new ArrayList<>(grants);
+        List<List<RolePermission>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += batchSize) {
+            chunks.add(all.subList(from, Math.min(from + batchSize, all.size())));
+        }
+        return chunks;
+    }
+}
@@ -2,31 +2,57 @@ package com.example.System.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.example.System.common.PageResult;
 import com.example.System.entity.Role;
+import com.example.System.entity.RoleInherit;
+import com.example.System.entity.RolePermission;
+import com.example.System.entity.UserRole;
+import com.example.System.mapper.RoleInheritMapper;
 import com.example.System.mapper.RoleMapper;
+import com.example.System.mapper.RolePermissionMapper;
+import com.example.System.mapper.UserRoleMapper;
+import com.example.System.security.RbacChangeNotifier;
+import com.example.System.security.RoleHierarchy;
 import com.example.System.service.RoleService;
-import com.example.System.service.UserRoleService;
+import com.example.System.util.PageQueries;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements RoleService {
 
     @Autowired
-    private UserRoleService userRoleService;
+    private RbacChangeNotifier rbacChangeNotifier;
+
+    @Autowired
+    private RoleHierarchy roleHierarchy;
+
+    @Autowired
+    private RoleInheritMapper roleInheritMapper;
+
+    @Autowired
+    private RolePermissionMapper rolePermissionMapper;
+
+    @Autowired
+    private UserRoleMapper userRoleMapper;
 
     @Override
     public List<Role> getRolesByUserId(Long userId) {
-        List<Long> roleIds = userRoleService.getRoleIdsByUserId(userId);
-        if (roleIds.isEmpty()) {
-            return List.of();
+        List<Role> roles = baseMapper.selectByUserId(userId);
+        Set<Long> inheritedRoleIds = roleHierarchy.inheritedRoleIds(
+                roles.stream().map(Role::getId).collect(Collectors.toSet()));
+        if (inheritedRoleIds.isEmpty()) {
+            return roles;
         }
-        QueryWrapper<Role> queryWrapper = new QueryWrapper<>();
-        queryWrapper.in("id", roleIds);
-        return list(queryWrapper);
+        List<Role> effectiveRoles = new ArrayList<>(roles);
+        effectiveRoles.addAll(listByIds(inheritedRoleIds));
+        return effectiveRoles;
     }
 
     @Override
@@ -35,4 +61,74 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
         queryWrapper.eq("role_code", roleCode);
         return getOne(queryWrapper);
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean createRole(Role role) {
+        boolean success = save(role);
+        if (success) {
+            rbacChangeNotifier.roleCreated();
+        }
+        return success;
+    }
+
+    @Override
+    public boolean updateRole(Role role) {
+        boolean success = updateById(role);
+        if (success) {
+            rbacChangeNotifier.roleChanged(role.getId());
+        }
+        return success;
+    }
+
+    @Override
+    @Transactional
+    public boolean deleteRole(Long roleId) {
+        boolean success = removeById(roleId);
+        if (success) {
+            QueryWrapper<RoleInherit> queryWrapper = new QueryWrapper<>();
+            queryWrapper.eq("role_id", roleId).or().eq("inherit_role_id", roleId);
+            roleInheritMapper.delete(queryWrapper);
+            // 授权和用户分配一并逻辑删除，同代码角色被恢复时不会带回原有的权限和持有者
+            rolePermissionMapper.delete(new QueryWrapper<RolePermission>().eq("role_id", roleId));
+            userRoleMapper.delete(new QueryWrapper<UserRole>().eq("role_id", roleId));
+            RbacChangeNotifier.afterCommit(() -> roleHierarchy.removeRole(roleId));
+            rbacChangeNotifier.roleChanged(roleId);
+        }
+        return success;
+    }
+
+    @Override
+    @Transactional
+    public boolean addRoleInherit(Long roleId, Long inheritRoleId) {
+        if (getById(roleId) == null || getById(inheritRoleId) == null) {
+            throw new RuntimeException("角色不存在");
+        }
+        // 先在内存中检测循环，再落库；内存层级在事务提交后更新，回滚时保持与数据库一致
+        roleHierarchy.checkInherit(roleId, inheritRoleId);
+        roleInheritMapper.insertOrRestore(roleId, inheritRoleId);
+        RbacChangeNotifier.afterCommit(() -> roleHierarchy.addInherit(roleId, inheritRoleId));
+        // 拥有roleId（含间接继承）的用户的有效角色都包含roleId，按角色失效即可覆盖
+        rbacChangeNotifier.roleChanged(roleId);
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public boolean removeRoleInherit(Long roleId, Long inheritRoleId) {
+        QueryWrapper<RoleInherit> queryWrapper = new QueryWrapper<>();
+        queryWrapper.eq("role_id", roleId).eq("inherit_role_id", inheritRoleId);
+        boolean success = roleInheritMapper.delete(queryWrapper) > 0;
+        if (success) {
+            RbacChangeNotifier.afterCommit(() -> roleHierarchy.removeInherit(roleId, inheritRoleId));
+            rbacChangeNotifier.roleChanged(roleId);
+        }
+        return success;
+    }
+
+    @Override
+    public PageResult<Role> pageRoles(String roleCode, String cursor, Integer page, int size) {
+        QueryWrapper<Role> queryWrapper = new QueryWrapper<>();
+        queryWrapper.likeRight(roleCode != null && !roleCode.isEmpty(), "role_code", roleCode);
+        return PageQueries.query(this, queryWrapper, cursor, page, size, Role::getId);
+    }
+}
@@ -0,0 +1,445 @@
+package com.example.System.service.impl;
+
+import cn.hutool.crypto.digest.BCrypt;
+import com.example.System.dto.UserImportProgress;
+import com.example.System.entity.User;
+import com.example.System.mapper.UserMapper;
+import com.example.System.service.UserImportService;
+import com.example.System.service.UserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 批量导入用户
+ * 上传内容先落盘，再由单独的线程逐行解析，按块处理：每块一次IN查询排除已存在的用户名，
+ * 在大小固定的ForkJoinPool上并行计算BCrypt，最后以JDBC批量插入。
+ */
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportServiceImpl.class);
+
+    private static final int MAX_USERNAME_LENGTH = 50;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 每块的行数，同时作为JDBC批量大小
+     */
+    @Value("${app.user-import.chunk-size:1000}")
+    private int chunkSize;
+
+    /**
+     * 计算密码哈希的并行度，0表示CPU核数
+     */
+    @Value("${app.user-import.parallelism:0}")
+    private int parallelism;
+
+    /**
+     * 每个任务最多保留的失败行明细
+     */
+    @Value("${app.user-import.max-errors:1000}")
+    private int maxErrors;
+
+    /**
+     * 任务结束后进度保留时长
+     */
+    @Value("${app.user-import.retention:1h}")
+    private Duration retention;
+
+    private ForkJoinPool hashPool;
+
+    private ExecutorService jobExecutor;
+
+    /**
+     * 等待中和执行中的任务，不过期
+     */
+    private final Map<String, ImportJob> activeJobs = new ConcurrentHashMap<>();
+
+    /**
+     * 已结束的任务，自结束起保留retention
+     */
+    private Cache<String, ImportJob> finishedJobs;
+
+    @PostConstruct
+    public void init() {
+        hashPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        // 任务依次执行，避免多个导入同时占满哈希线程池和数据库连接
+        jobExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        finishedJobs = Caffeine.newBuilder().expireAfterWrite(retention).build();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        jobExecutor.shutdownNow();
+        hashPool.shutdownNow();
+    }
+
+    @Override
+    public String submit(InputStream in, String format) throws IOException {
+        Format importFormat = Format.of(format);
+        Path file = Files.createTempFile("user-import-", "." + importFormat.name().toLowerCase(Locale.ROOT));
+        try {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        // 交给导入线程之前读取大小，任务可能在提交返回前就已完成并删除临时文件
+        long size = Files.size(file);
+        ImportJob job = new ImportJob(UUID.randomUUID().toString());
+        activeJobs.put(job.jobId, job);
+        try {
+            jobExecutor.execute(() -> run(job, file, importFormat));
+        } catch (RejectedExecutionException e) {
+            activeJobs.remove(job.jobId);
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        logger.info("导入任务已提交: jobId={}, format={}, size={}", job.jobId, importFormat, size);
+        return job.jobId;
+    }
+
+    @Override
+    public UserImportProgress getProgress(String jobId) {
+        ImportJob job = activeJobs.get(jobId);
+        if (job == null) {
+            job = finishedJobs.getIfPresent(jobId);
+        }
+        return job == null ? null : job.snapshot();
+    }
+
+    private void run(ImportJob job, Path file, Format format) {
+        job.start();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            long lineNumber = 0;
+            Map<String, Integer> columns = null;
+            if (format == Format.CSV) {
+                String header = reader.readLine();
+                lineNumber++;
+                if (header == null) {
+                    throw new IllegalArgumentException("CSV文件为空");
+                }
+                columns = parseHeader(header);
+            }
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                job.processed();
+                User user = null;
+                try {
+                    user = format == Format.CSV ? parseCsv(line, columns) : parseJson(line);
+                    validate(user);
+                    chunk.add(new ImportRow(lineNumber, user));
+                } catch (IllegalArgumentException e) {
+                    job.fail(lineNumber, user == null ? null : user.getUsername(), e.getMessage());
+                } catch (JsonProcessingException e) {
+                    job.fail(lineNumber, null, "JSON格式错误: " + e.getOriginalMessage());
+                }
+                if (chunk.size() >= chunkSize) {
+                    importChunk(job, chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(job, chunk);
+            }
+            job.complete();
+            UserImportProgress progress = job.snapshot();
+            logger.info("导入任务完成: jobId={}, processed={}, imported={}, failed={}", job.jobId,
+                    progress.getProcessed(), progress.getImported(), progress.getFailed());
+        } catch (Exception e) {
+            logger.error("导入任务异常终止: jobId={}, error={}", job.jobId, e.getMessage());
+            job.abort(e.getMessage());
+        } finally {
+            // 先放入已结束任务再移出执行中任务，查询进度时不会短暂查不到；保留时长从此刻开始计算
+            finishedJobs.put(job.jobId, job);
+            activeJobs.remove(job.jobId);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("删除导入临时文件失败: {}", file);
+            }
+        }
+    }
+
+    private void importChunk(ImportJob job, List<ImportRow> chunk) throws InterruptedException, ExecutionException {
+        // 块内重复的用户名只保留第一次出现；块间的重复由下一块的存在性查询发现
+        Map<String, ImportRow> byUsername = new LinkedHashMap<>();
+        for (ImportRow row : chunk) {
+            if (byUsername.putIfAbsent(row.user.getUsername(), row) != null) {
+                job.fail(row.line, row.user.getUsername(), "文件中用户名重复");
+            }
+        }
+        Set<String> existing = new HashSet<>(userMapper.selectExistingUsernames(byUsername.keySet()));
+        List<ImportRow> fresh = new ArrayList<>(byUsername.size());
+        for (ImportRow row : byUsername.values()) {
+            if (existing.contains(row.user.getUsername())) {
+                job.fail(row.line, row.user.getUsername(), "用户名已存在");
+            } else {
+                fresh.add(row);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+        hashPool.submit(() -> fresh.parallelStream().forEach(row ->
+                row.user.setPassword(BCrypt.hashpw(row.user.getPassword(), BCrypt.gensalt())))).get();
+        List<User> users = fresh.stream().map(row -> row.user).toList();
+        try {
+            userService.saveBatch(users, chunkSize);
+            job.imported(users.size());
+        } catch (RuntimeException e) {
+            // 整批回滚（例如并发注册了同名用户），逐行重试以定位失败的行
+            logger.warn("批量插入失败，逐行重试: jobId={}, error={}", job.jobId, e.getMessage());
+            for (ImportRow row : fresh) {
+                row.user.setId(null);
+                try {
+                    userService.save(row.user);
+                    job.imported(1);
+                } catch (DuplicateKeyException ex) {
+                    job.fail(row.line, row.user.getUsername(), "用户名已存在");
+                } catch (RuntimeException ex) {
+                    job.fail(row.line, row.user.getUsername(), "写入失败: " + ex.getMessage());
+                }
+            }
+        }
+    }
+
+    private static Map<String, Integer> parseHeader(String header) {
+        List<String> names = splitCsv(header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("username") || !columns.containsKey("password")) {
+            throw new IllegalArgumentException("CSV表头必须包含username和password列");
+        }
+        return columns;
+    }
+
+    private static User parseCsv(String line, Map<String, Integer> columns) {
+        List<String> values = splitCsv(line);
+        return newUser(column(values, columns, "username"), column(values, columns, "password"),
+                column(values, columns, "email"), column(values, columns, "phone"),
+                column(values, columns, "nickname"), column(values, columns, "avatar"),
+                column(values, columns, "role"));
+    }
+
+    private User parseJson(String line) throws JsonProcessingException {
+        User parsed = objectMapper.readValue(line, User.class);
+        // 只取允许导入的字段，忽略id、deleted等
+        return newUser(parsed.getUsername(), parsed.getPassword(), parsed.getEmail(), parsed.getPhone(),
+                parsed.getNickname(), parsed.getAvatar(), parsed.getRole());
+    }
+
+    private static User newUser(String username, String password, String email, String phone,
+                                String nickname, String avatar, String role) {
+        LocalDateTime now = LocalDateTime.now();
+        return new User()
+                .setUsername(username == null ? null : username.trim())
+                .setPassword(password)
+                .setEmail(email)
+                .setPhone(phone)
+                .setNickname(nickname)
+                .setAvatar(avatar)
+                .setRole(role == null || role.isEmpty() ? "USER" : role)
+                .setCreateTime(now)
+                .setUpdateTime(now);
+    }
+
+    private static void validate(User user) {
+        if (user.getUsername() == null || user.getUsername().isEmpty()) {
+            throw new IllegalArgumentException("用户名不能为空");
+        }
+        if (user.getUsername().length() > MAX_USERNAME_LENGTH) {
+            throw new IllegalArgumentException("用户名长度不能超过" + MAX_USERNAME_LENGTH);
+        }
+        if (user.getPassword() == null || user.getPassword().isEmpty()) {
+            throw new IllegalArgumentException("密码不能为空");
+        }
+    }
+
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * 按RFC 4180拆分一行CSV，支持双引号包裹和""转义，不支持字段内换行
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("CSV引号未闭合");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private enum Format {
+        CSV, NDJSON;
+
+        static Format of(String format) {
+            if (format != null) {
+                for (Format value : values()) {
+                    if (value.name().equalsIgnoreCase(format)) {
+                        return value;
+                    }
+                }
+            }
+            throw new IllegalArgumentException("不支持的导入格式: " + format + "，可选: csv、ndjson");
+        }
+    }
+
+    private record ImportRow(long line, User user) {
+    }
+
+    /**
+     * 任务进度，由导入线程写入、查询线程读取快照
+     */
+    private final class ImportJob {
+
+        private final String jobId;
+
+        private final List<UserImportProgress.RowError> errors = new ArrayList<>();
+
+        private UserImportProgress.Status status = UserImportProgress.Status.PENDING;
+
+        private long processed;
+
+        private long imported;
+
+        private long failed;
+
+        private String message;
+
+        private LocalDateTime startTime;
+
+        private LocalDateTime finishTime;
+
+        private ImportJob(String jobId) {
+            this.jobId = jobId;
+        }
+
+        synchronized void start() {
+            status = UserImportProgress.Status.RUNNING;
+            startTime = LocalDateTime.now();
+        }
+
+        synchronized void processed() {
+            processed++;
+        }
+
+        synchronized void imported(int count) {
+            imported += count;
+        }
+
+        synchronized void fail(long line, String username, String reason) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new UserImportProgress.RowError(line, username, reason));
+            }
+        }
+
+        synchronized void complete() {
+            status = UserImportProgress.Status.COMPLETED;
+            finishTime = LocalDateTime.now();
+        }
+
+        synchronized void abort(String reason) {
+            status = UserImportProgress.Status.FAILED;
+            message = reason;
+            finishTime = LocalDateTime.now();
+        }
+
+        synchronized UserImportProgress snapshot() {
+            return new UserImportProgress()
+                    .setJobId(jobId)
+                    .setStatus(status)
+                    .setProcessed(processed)
+                    .setImported(imported)
+                    .setFailed(failed)
+                    .setErrors(new ArrayList<>(errors))
+                    .setMessage(message)
+                    .setStartTime(startTime)
+                    .setFinishTime(finishTime);
+        }
+    }
+}
@@ -2,16 +2,46 @@ package com.example.System.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.example.System.dto.UserRoleBatchResponse.Outcome;
+import com.example.System.dto.UserRolePair;
+import com.example.System.entity.Role;
+import com.example.System.entity.User;
 import com.example.System.entity.UserRole;
+import com.example.System.mapper.RoleMapper;
+import com.example.System.mapper.UserMapper;
 import com.example.System.mapper.UserRoleMapper;
+import com.example.System.security.RbacChangeNotifier;
 import com.example.System.service.UserRoleService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class UserRoleServiceImpl extends ServiceImpl<UserRoleMapper, UserRole> implements UserRoleService {
 
+    @Autowired
+    private RbacChangeNotifier rbacChangeNotifier;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private RoleMapper roleMapper;
+
+    /**
+     * 批量操作每条语句包含的用户角色对数量
+     */
+    @Value("${app.user-role.batch-size:1000}")
+    private int batchSize;
+
     @Override
     public List<Long> getRoleIdsByUserId(Long userId) {
         return baseMapper.getRoleIdsByUserId(userId);
@@ -19,26 +49,120 @@ public class UserRoleServiceImpl extends ServiceImpl<UserRoleMapper, UserRole> i
 
     @Override
     public boolean assignUserRole(Long userId, Long roleId) {
-        // 检查是否已经存在关联
-        QueryWrapper<UserRole> queryWrapper = new QueryWrapper<>();
-        queryWrapper.eq("user_id", userId).eq("role_id", roleId);
-        UserRole existRelation = getOne(queryWrapper);
-        
-        if (existRelation != null) {
-            return true; // 已存在关联
+        // 已是有效分配时不做改动，也不失效缓存、推进策略版本（否则会使该用户的token声明和ETag无故过期）
+        UserRolePair pair = new UserRolePair().setUserId(userId).setRoleId(roleId);
+        if (!baseMapper.selectActivePairs(List.of(pair)).isEmpty()) {
+            return false;
         }
-        
-        // 创建新的关联
-        UserRole userRole = new UserRole();
-        userRole.setUserId(userId);
-        userRole.setRoleId(roleId);
-        return save(userRole);
+        // 依赖uk_user_role保证幂等，已取消的分配直接恢复
+        baseMapper.insertOrRestore(userId, roleId);
+        rbacChangeNotifier.userRolesChanged(userId);
+        return true;
     }
 
     @Override
     public boolean removeUserRole(Long userId, Long roleId) {
         QueryWrapper<UserRole> queryWrapper = new QueryWrapper<>();
         queryWrapper.eq("user_id", userId).eq("role_id", roleId);
-        return remove(queryWrapper);
+        boolean success = remove(queryWrapper);
+        if (success) {
+            rbacChangeNotifier.userRolesChanged(userId);
+        }
+        return success;
+    }
+
+    @Override
+    @Transactional
+    public List<Outcome> assignUserRoles(List<UserRolePair> pairs) {
+        List<Outcome> outcomes = new ArrayList<>(pairs.size());
+        Set<Long> changedUserIds = new HashSet<>();
+        for (int from = 0; from < pairs.size(); from += batchSize) {
+            List<UserRolePair> chunk = pairs.subList(from, Math.min(from + batchSize, pairs.size()));
+            List<UserRolePair> valid = validPairs(chunk);
+            Set<Long> existingUserIds = existingUserIds(valid);
+            Set<Long> existingRoleIds = existingRoleIds(valid);
+            Set<UserRolePair> active = valid.isEmpty() ? Set.of() : new HashSet<>(baseMapper.selectActivePairs(valid));
+            Set<UserRolePair> toInsert = new LinkedHashSet<>();
+            for (UserRolePair pair : chunk) {
+                if (!isValid(pair)) {
+                    outcomes.add(Outcome.INVALID);
+                } else if (!existingUserIds.contains(pair.getUserId())) {
+                    outcomes.add(Outcome.USER_NOT_FOUND);
+                } else if (!existingRoleIds.contains(pair.getRoleId())) {
+                    outcomes.add(Outcome.ROLE_NOT_FOUND);
+                } else if (active.contains(pair) || !toInsert.add(pair)) {
+                    outcomes.add(Outcome.UNCHANGED);
+                } else {
+                    outcomes.add(Outcome.ASSIGNED);
+                }
+            }
+            if (!toInsert.isEmpty()) {
+                // 一条多行语句写入整批，uk_user_role冲突时恢复已取消的分配
+                baseMapper.insertOrRestorePairs(toInsert);
+                toInsert.forEach(pair -> changedUserIds.add(pair.getUserId()));
+            }
+        }
+        if (!changedUserIds.isEmpty()) {
+            rbacChangeNotifier.userRolesChanged(changedUserIds);
+        }
+        return outcomes;
+    }
+
+    @Override
+    @Transactional
+    public List<Outcome> removeUserRoles(List<UserRolePair> pairs) {
+        List<Outcome> outcomes = new ArrayList<>(pairs.size());
+        Set<Long> changedUserIds = new HashSet<>();
+        for (int from = 0; from < pairs.size(); from += batchSize) {
+            List<UserRolePair> chunk = pairs.subList(from, Math.min(from + batchSize, pairs.size()));
+            List<UserRolePair> valid = validPairs(chunk);
+            Set<UserRolePair> active = valid.isEmpty() ? Set.of() : new HashSet<>(baseMapper.selectActivePairs(valid));
+            Set<UserRolePair> toDelete = new LinkedHashSet<>();
+            for (UserRolePair pair : chunk) {
+                if (!isValid(pair)) {
+                    outcomes.add(Outcome.INVALID);
+                } else if (active.contains(pair) && toDelete.add(pair)) {
+                    outcomes.add(Outcome.REMOVED);
+                } else {
+                    outcomes.add(Outcome.NOT_ASSIGNED);
+                }
+            }
+            if (!toDelete.isEmpty()) {
+                baseMapper.deletePairs(toDelete);
+                toDelete.forEach(pair -> changedUserIds.add(pair.getUserId()));
+            }
+        }
+        if (!changedUserIds.isEmpty()) {
+            rbacChangeNotifier.userRolesChanged(changedUserIds);
+        }
+        return outcomes;
+    }
+
+    private static boolean isValid(UserRolePair pair) {
+        return pair != null && pair.getUserId() != null && pair.getRoleId() != null;
+    }
+
+    private static List<UserRolePair> validPairs(List<UserRolePair> chunk) {
+        return chunk.stream().filter(UserRoleServiceImpl::isValid).collect(Collectors.toList());
+    }
+
+    private Set<Long> existingUserIds(List<UserRolePair> pairs) {
+        Set<Long> userIds = pairs.stream().map(UserRolePair::getUserId).collect(Collectors.toSet());
+        if (userIds.isEmpty()) {
+            return Set.of();
+        }
+        QueryWrapper<User> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("id").in("id", userIds);
+        return userMapper.selectList(queryWrapper).stream().map(User::getId).collect(Collectors.toSet());
+    }
+
+    private Set<Long> existingRoleIds(List<UserRolePair> pairs) {
+        Set<Long> roleIds = pairs.stream().map(UserRolePair::getRoleId).collect(Collectors.toSet());
+        if (roleIds.isEmpty()) {
+            return Set.of();
+        }
+        QueryWrapper<Role> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("id").in("id", roleIds);
+        return roleMapper.selectList(queryWrapper).stream().map(Role::getId).collect(Collectors.toSet());
     }
-}
\ No newline at end of file
+}
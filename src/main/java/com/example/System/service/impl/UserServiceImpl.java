@@ -1,22 +1,31 @@
 package com.example.System.service.impl;
 
-import cn.hutool.crypto.digest.BCrypt;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.example.System.common.PageResult;
 import com.example.System.dto.LoginRequest;
 import com.example.System.dto.LoginResponse;
-import com.example.System.entity.Permission;
 import com.example.System.entity.User;
+import com.example.System.interceptor.RequestSqlStats;
 import com.example.System.mapper.UserMapper;
+import com.example.System.security.EffectiveAuthorities;
+import com.example.System.security.PasswordHashExecutor;
+import com.example.System.security.PolicyVersionRegistry;
 import com.example.System.service.PermissionService;
 import com.example.System.service.UserService;
 import com.example.System.util.JwtUtil;
+import com.example.System.util.PageQueries;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements UserService {
@@ -27,27 +36,71 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
     @Autowired
     private PermissionService permissionService;
 
+    @Autowired
+    private PolicyVersionRegistry policyVersionRegistry;
+
+    @Autowired
+    private PasswordHashExecutor passwordHashExecutor;
+
+    /**
+     * 密码校验、哈希之后需要访问数据库的步骤（签发token、写入用户）在通用任务线程池中执行，
+     * 密码哈希线程池只做BCrypt计算，不因等待数据库连接而降低吞吐
+     */
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor taskExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 登录各阶段耗时：查询用户、密码校验（含在密码哈希线程池中的排队，纯计算耗时见password.hash）、签发token
+     */
+    private Timer lookupTimer;
+
+    private Timer passwordTimer;
+
+    private Timer tokenTimer;
+
+    @PostConstruct
+    public void initMetrics() {
+        lookupTimer = Timer.builder("login.stage").tag("stage", "lookup").register(meterRegistry);
+        passwordTimer = Timer.builder("login.stage").tag("stage", "password").register(meterRegistry);
+        tokenTimer = Timer.builder("login.stage").tag("stage", "token").register(meterRegistry);
+    }
+
     @Override
-    public LoginResponse login(LoginRequest loginRequest) {
+    public CompletableFuture<LoginResponse> login(LoginRequest loginRequest) {
         // 根据用户名查询用户
+        long start = System.nanoTime();
         User user = findByUsername(loginRequest.getUsername());
+        long verifyStart = System.nanoTime();
+        lookupTimer.record(verifyStart - start, TimeUnit.NANOSECONDS);
         if (user == null) {
             throw new RuntimeException("用户不存在");
         }
         
-        // 验证密码
-        if (!BCrypt.checkpw(loginRequest.getPassword(), user.getPassword())) {
-            throw new RuntimeException("密码错误");
-        }
-        
-        // 获取用户权限列表
-        List<Permission> permissions = permissionService.getPermissionsByUserId(user.getId());
-        String permissionCodes = permissions.stream()
-                .map(Permission::getPermissionCode)
-                .collect(Collectors.joining(","));
+        // 在密码哈希线程池中验证密码，签发token切换到通用任务线程池
+        return passwordHashExecutor.verify(loginRequest.getPassword(), user.getPassword())
+                .whenComplete((matched, e) -> passwordTimer.record(System.nanoTime() - verifyStart, TimeUnit.NANOSECONDS))
+                .thenApplyAsync(RequestSqlStats.propagate(matched -> {
+                    if (!matched) {
+                        throw new RuntimeException("密码错误");
+                    }
+                    return tokenTimer.record(() -> issueToken(user));
+                }), taskExecutor);
+    }
+
+    private LoginResponse issueToken(User user) {
+        // 先读取策略版本再加载权限，加载期间发生的变更会使token版本过期而不是携带旧权限
+        long policyVersion = policyVersionRegistry.current(user.getId());
+        EffectiveAuthorities authorities = permissionService.loadAuthoritiesByUserId(user.getId());
+        String permissionCodes = String.join(",", authorities.getPermissionCodes());
+        String roleCodes = String.join(",", authorities.getRoleCodes());
         
-        // 生成JWT token（包含权限信息）
-        String token = jwtUtil.generateToken(user.getUsername(), user.getId(), user.getRole(), permissionCodes);
+        // 生成JWT token（包含角色、权限信息和策略版本）
+        String token = jwtUtil.generateToken(user.getUsername(), user.getId(), user.getRole(),
+                permissionCodes, roleCodes, policyVersion);
         
         // 返回登录响应（包含权限信息）
         return LoginResponse.build(token, user.getId(), user.getUsername(), 
@@ -62,22 +115,34 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
     }
 
     @Override
-    public boolean register(User user) {
+    public CompletableFuture<Boolean> register(User user) {
         // 检查用户名是否已存在
         if (findByUsername(user.getUsername()) != null) {
             throw new RuntimeException("用户名已存在");
         }
         
-        // 加密密码
-        user.setPassword(BCrypt.hashpw(user.getPassword(), BCrypt.gensalt()));
-        user.setCreateTime(LocalDateTime.now());
-        user.setUpdateTime(LocalDateTime.now());
-        
-        // 设置默认角色
-        if (user.getRole() == null || user.getRole().isEmpty()) {
-            user.setRole("USER");
-        }
-        
-        return save(user);
+        // 在密码哈希线程池中加密密码，写入数据库切换到通用任务线程池
+        return passwordHashExecutor.hash(user.getPassword()).thenApplyAsync(RequestSqlStats.propagate(hashed -> {
+            user.setPassword(hashed);
+            user.setCreateTime(LocalDateTime.now());
+            user.setUpdateTime(LocalDateTime.now());
+            
+            // 设置默认角色
+            if (user.getRole() == null || user.getRole().isEmpty()) {
+                user.setRole("USER");
+            }
+            
+            return save(user);
+        }), taskExecutor);
+    }
+
+    @Override
+    public PageResult<User> pageUsers(String username, String role, String cursor, Integer page, int size) {
+        QueryWrapper<User> queryWrapper = new QueryWrapper<>();
+        // 密码列不查询
+        queryWrapper.select(User.class, column -> !"password".equals(column.getColumn()))
+                .likeRight(username != null && !username.isEmpty(), "username", username)
+                .eq(role != null && !role.isEmpty(), "role", role);
+        return PageQueries.query(this, queryWrapper, cursor, page, size, User::getId);
     }
-}
\ No newline at end of file
+}
@@ -1,8 +1,13 @@
 package com.example.System.util;
 
+import com.example.System.security.TokenClaims;
+import com.example.System.security.VerifiedTokenCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -20,8 +25,22 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    private SecretKey signingKey;
+
+    private JwtParser jwtParser;
+
+    /**
+     * 签名密钥和解析器只在启动时构建一次，二者均为线程安全
+     */
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     /**
@@ -45,6 +64,20 @@ public class JwtUtil {
         return createToken(claims, username);
     }
 
+    /**
+     * 生成包含角色、权限和策略版本的JWT token，用于信任token声明的鉴权模式
+     */
+    public String generateToken(String username, Long userId, String role, String permissions,
+                                String roles, long policyVersion) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", userId);
+        claims.put("role", role);
+        claims.put("permissions", permissions);
+        claims.put("roles", roles);
+        claims.put("pv", policyVersion);
+        return createToken(claims, username);
+    }
+
     /**
      * 创建token
      */
@@ -54,16 +87,33 @@ public class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * 验签并一次性解析token中的全部声明
+     * 同一token重复出现时直接返回缓存的声明，跳过HMAC验签和JSON解析
+     */
+    public TokenClaims verify(String token) {
+        TokenClaims cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = getAllClaimsFromToken(token);
+        TokenClaims tokenClaims = new TokenClaims(claims.getSubject(), claims.get("userId", Long.class),
+                claims.get("role", String.class), claims.get("permissions", String.class),
+                claims.get("roles", String.class), claims.get("pv", Long.class), claims.getExpiration());
+        verifiedTokenCache.put(token, tokenClaims);
+        return tokenClaims;
+    }
+
     /**
      * 验证token
      */
     public Boolean validateToken(String token, String username) {
-        final String tokenUsername = getUsernameFromToken(token);
-        return (tokenUsername.equals(username) && !isTokenExpired(token));
+        final TokenClaims claims = verify(token);
+        return (claims.getUsername().equals(username) && !claims.getExpiration().before(new Date()));
     }
 
     /**
@@ -116,18 +166,6 @@ public class JwtUtil {
      * 从token中获取所有声明
      */
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    /**
-     * 检查token是否过期
-     */
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.example.System.util;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.example.System.common.PageResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 列表分页查询
+ * 默认按主键做游标分页（WHERE id > ? ORDER BY id LIMIT n），不执行COUNT，耗时与表大小无关；
+ * 传入页码时退化为偏移分页并统计总数，仅在调用方显式要求时使用
+ */
+public final class PageQueries {
+
+    private static final String CURSOR_PREFIX = "id:";
+
+    /**
+     * 单页最大行数
+     */
+    public static final int MAX_SIZE = 500;
+
+    private PageQueries() {
+    }
+
+    /**
+     * @param cursor 上一页返回的nextCursor，首页为null
+     * @param page   页码（从1开始），为null时使用游标分页
+     */
+    public static <T> PageResult<T> query(IService<T> service, QueryWrapper<T> queryWrapper, String cursor,
+                                          Integer page, int size, Function<T, Long> idGetter) {
+        size = Math.min(Math.max(size, 1), MAX_SIZE);
+        queryWrapper.orderByAsc("id");
+        if (page != null) {
+            Page<T> result = service.page(new Page<>(page, size, true), queryWrapper);
+            return PageResult.offset(result.getRecords(), result.getTotal(), result.hasNext());
+        }
+        Long after = decodeCursor(cursor);
+        if (after != null) {
+            queryWrapper.gt("id", after);
+        }
+        // 多取一行判断是否还有下一页
+        List<T> records = service.page(new Page<>(1, size + 1, false), queryWrapper).getRecords();
+        if (records.size() <= size) {
+            return PageResult.keyset(records, null);
+        }
+        records = records.subList(0, size);
+        return PageResult.keyset(records, encodeCursor(idGetter.apply(records.get(size - 1))));
+    }
+
+    /**
+     * 游标对调用方不透明，内容为最后一行的主键
+     */
+    public static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标，为空时返回null，格式错误时抛出IllegalArgumentException
+     */
+    public static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // 统一按无效游标处理
+        }
+        throw new IllegalArgumentException("无效的分页游标");
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.System.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ResultSerializerTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void writesFieldsInBeanOrderIncludingNulls() throws Exception {
+        assertEquals("{\"code\":200,\"message\":\"操作成功\",\"data\":null}",
+                objectMapper.writeValueAsString(Result.success()));
+        assertEquals("{\"code\":400,\"message\":\"参数\\\"错误\\\"\",\"data\":null}",
+                objectMapper.writeValueAsString(Result.error(400, "参数\"错误\"")));
+    }
+
+    @Test
+    void delegatesDataToJackson() throws Exception {
+        Result<Map<String, List<Integer>>> result = Result.success(Map.of("ids", List.of(1, 2)));
+        assertEquals("{\"code\":200,\"message\":\"操作成功\",\"data\":{\"ids\":[1,2]}}",
+                objectMapper.writeValueAsString(result));
+        assertEquals(objectMapper.writeValueAsString(result),
+                new String(objectMapper.writeValueAsBytes(result), StandardCharsets.UTF_8));
+    }
+}
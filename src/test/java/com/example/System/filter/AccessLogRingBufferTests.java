@@ -0,0 +1,62 @@
+package com.example.System.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccessLogRingBufferTests {
+
+    @Test
+    void rejectsWhenFullAndReusesSlotsAfterDrain() {
+        AccessLogRingBuffer<Integer> buffer = new AccessLogRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+
+        List<Integer> batch = new ArrayList<>();
+        assertEquals(3, buffer.drainTo(batch, 3));
+        assertEquals(List.of(0, 1, 2), batch);
+        assertTrue(buffer.offer(5));
+        batch.clear();
+        assertEquals(2, buffer.drainTo(batch, 10));
+        assertEquals(List.of(3, 5), batch);
+    }
+
+    @Test
+    void concurrentProducersLoseNothingThatWasAccepted() throws InterruptedException {
+        AccessLogRingBuffer<Integer> buffer = new AccessLogRingBuffer<>(1024);
+        int producers = 4;
+        int perProducer = 50_000;
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    if (buffer.offer(base + i)) {
+                        accepted.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+        Set<Integer> received = new HashSet<>();
+        List<Integer> batch = new ArrayList<>();
+        while (done.getCount() > 0 || buffer.size() > 0) {
+            buffer.drainTo(batch, 256);
+            received.addAll(batch);
+            batch.clear();
+        }
+        assertEquals(accepted.get(), received.size());
+    }
+}
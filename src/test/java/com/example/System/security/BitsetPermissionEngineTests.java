@@ -0,0 +1,107 @@
+package com.example.System.security;
+
+import com.example.System.annotation.RequirePermission;
+import com.example.System.entity.Permission;
+import com.example.System.entity.Role;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BitsetPermissionEngineTests {
+
+    private final PermissionEngine engine = new BitsetPermissionEngine();
+
+    @Test
+    void anyAndAllFollowRequirePermissionSemantics() {
+        EffectiveAuthorities authorities = engine.build(1L, List.of(role(2L, "manager")),
+                List.of(permission(1L, "user:view"), permission(5L, "role:view")));
+
+        assertTrue(engine.hasPermissions(authorities,
+                engine.compilePermissions("user:view", "user:delete"), RequirePermission.Logical.ANY));
+        assertFalse(engine.hasPermissions(authorities,
+                engine.compilePermissions("user:view", "user:delete"), RequirePermission.Logical.ALL));
+        assertTrue(engine.hasPermissions(authorities,
+                engine.compilePermissions("user:view", "role:view"), RequirePermission.Logical.ALL));
+        assertTrue(engine.hasRoles(authorities, engine.compileRoles("admin", "manager")));
+        assertFalse(engine.hasRoles(authorities, engine.compileRoles("admin")));
+    }
+
+    @Test
+    void codesInternedAfterBuildAreNotGranted() {
+        EffectiveAuthorities authorities = engine.build(1L, List.of(), List.of(permission(1L, "user:view")));
+        for (int i = 0; i < 200; i++) {
+            engine.compilePermissions("extra" + i + ":view");
+        }
+
+        assertFalse(engine.hasPermissions(authorities,
+                engine.compilePermissions("extra199:view"), RequirePermission.Logical.ANY));
+        assertFalse(engine.hasPermissions(authorities,
+                engine.compilePermissions("user:view", "extra199:view"), RequirePermission.Logical.ALL));
+        assertTrue(engine.hasPermissions(authorities,
+                engine.compilePermissions("user:view"), RequirePermission.Logical.ALL));
+    }
+
+    @Test
+    void parentPermissionImpliesDescendants() {
+        PermissionHierarchy hierarchy = new PermissionHierarchy();
+        hierarchy.upsert(permission(1L, "user:manage").setParentId(0L));
+        hierarchy.upsert(permission(2L, "user:view").setParentId(1L));
+        hierarchy.upsert(permission(3L, "user:delete").setParentId(1L));
+        PermissionEngine hierarchicalEngine = new BitsetPermissionEngine(hierarchy);
+
+        EffectiveAuthorities authorities = hierarchicalEngine.build(1L, List.of(), List.of(permission(1L, "user:manage")));
+        assertTrue(hierarchicalEngine.hasPermissions(authorities,
+                hierarchicalEngine.compilePermissions("user:view", "user:delete"), RequirePermission.Logical.ALL));
+
+        // 新增子权限后重新构建即可获得，其余闭包不受影响
+        hierarchy.upsert(permission(4L, "user:export").setParentId(1L));
+        EffectiveAuthorities rebuilt = hierarchicalEngine.build(1L, List.of(), List.of(permission(1L, "user:manage")));
+        assertTrue(hierarchicalEngine.hasPermissions(rebuilt,
+                hierarchicalEngine.compilePermissions("user:export"), RequirePermission.Logical.ANY));
+
+        EffectiveAuthorities child = hierarchicalEngine.build(2L, List.of(), List.of(permission(2L, "user:view")));
+        assertFalse(hierarchicalEngine.hasPermissions(child,
+                hierarchicalEngine.compilePermissions("user:manage"), RequirePermission.Logical.ANY));
+    }
+
+    @Test
+    void wildcardGrantsMatchBySegment() {
+        EffectiveAuthorities authorities = engine.build(1L, List.of(),
+                List.of(permission(1L, "user:*"), permission(2L, "*:view")));
+
+        assertTrue(engine.hasPermissions(authorities,
+                engine.compilePermissions("user:delete", "user:role:manage", "role:view"), RequirePermission.Logical.ALL));
+        assertFalse(engine.hasPermissions(authorities,
+                engine.compilePermissions("role:delete"), RequirePermission.Logical.ANY));
+        assertFalse(engine.hasPermissions(authorities,
+                engine.compilePermissions("user"), RequirePermission.Logical.ANY));
+    }
+
+    @Test
+    void callerSuppliedCodesAreLookedUpWithoutInterning() {
+        BitsetPermissionEngine lookupEngine = new BitsetPermissionEngine();
+        EffectiveAuthorities authorities = lookupEngine.build(1L, List.of(role(2L, "manager")),
+                List.of(permission(1L, "user:view"), permission(2L, "role:*")));
+        int dictionarySize = lookupEngine.permissionDictionary().size();
+
+        assertTrue(lookupEngine.hasPermissionCodes(authorities, RequirePermission.Logical.ALL, "user:view", "role:delete"));
+        assertFalse(lookupEngine.hasPermissionCodes(authorities, RequirePermission.Logical.ALL, "user:view", "unknown:view"));
+        assertTrue(lookupEngine.hasPermissionCodes(authorities, RequirePermission.Logical.ANY, "unknown:view", "user:view"));
+        assertFalse(lookupEngine.hasPermissionCodes(authorities, RequirePermission.Logical.ANY, "unknown:view"));
+        assertTrue(lookupEngine.hasAnyRoleCode(authorities, "unknown", "manager"));
+        assertFalse(lookupEngine.hasAnyRoleCode(authorities, "unknown"));
+        assertEquals(dictionarySize, lookupEngine.permissionDictionary().size());
+    }
+
+    private static Role role(Long id, String roleCode) {
+        return new Role().setId(id).setRoleCode(roleCode);
+    }
+
+    private static Permission permission(Long id, String permissionCode) {
+        return new Permission().setId(id).setPermissionCode(permissionCode);
+    }
+}
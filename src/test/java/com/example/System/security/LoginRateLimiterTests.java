@@ -0,0 +1,63 @@
+package com.example.System.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginRateLimiterTests {
+
+    private static final long WINDOW = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    void previousWindowDecaysAcrossTheBoundary() {
+        LoginRateLimiter.WindowCounter counter = new LoginRateLimiter.WindowCounter(0);
+        for (int i = 0; i < 4; i++) {
+            counter.hit(i, WINDOW);
+        }
+        assertEquals(0, counter.waitNanos(WINDOW - 1, WINDOW, 5, false));
+
+        // 第5次失败后超限，下一窗口中上一窗口的5次按比例衰减到4次以下才放行
+        counter.hit(WINDOW - 1, WINDOW);
+        long wait = counter.waitNanos(WINDOW - 1, WINDOW, 5, false);
+        assertTrue(wait > 0);
+        assertTrue(counter.waitNanos(WINDOW - 1 + wait - 1, WINDOW, 5, false) > 0);
+        assertEquals(0, counter.waitNanos(WINDOW - 1 + wait, WINDOW, 5, false));
+
+        // 两个窗口没有失败后完全归零
+        assertEquals(0, counter.waitNanos(3 * WINDOW, WINDOW, 1, false));
+    }
+
+    @Test
+    void throttledAttemptsAreNotCounted() {
+        LoginRateLimiter.WindowCounter counter = new LoginRateLimiter.WindowCounter(0);
+        assertEquals(0, counter.waitNanos(0, WINDOW, 3, true));
+        assertEquals(0, counter.waitNanos(1, WINDOW, 3, true));
+        for (int i = 2; i < 1000; i++) {
+            assertTrue(counter.waitNanos(i, WINDOW, 3, true) > 0);
+        }
+
+        // 只有放行的2次计入，下一窗口开始后很快恢复，而不是被上一窗口的上千次重试继续锁定
+        assertTrue(counter.waitNanos(WINDOW, WINDOW, 3, true) > 0);
+        assertEquals(0, counter.waitNanos(WINDOW + WINDOW / 100, WINDOW, 3, true));
+    }
+
+    @Test
+    void failuresLockUsernameUntilSuccessResetsIt() {
+        LoginRateLimiter limiter = new LoginRateLimiter(true, 3, Duration.ofMinutes(15), 1000, Duration.ofMinutes(1),
+                100, new SimpleMeterRegistry());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("alice", "10.0.0.1"));
+            limiter.onFailure("alice");
+        }
+        assertTrue(limiter.tryAcquire("alice", "10.0.0.2") > 0);
+        assertEquals(0, limiter.tryAcquire("bob", "10.0.0.1"));
+
+        limiter.onSuccess("alice");
+        assertEquals(0, limiter.tryAcquire("alice", "10.0.0.1"));
+    }
+}
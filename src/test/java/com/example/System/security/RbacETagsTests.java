@@ -0,0 +1,38 @@
+package com.example.System.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class RbacETagsTests {
+
+    private final RbacETags etags = etags();
+
+    @Test
+    void pagesAndFiltersGetDistinctETags() {
+        String first = etags.roles(null, null, null, 20);
+        assertEquals(first, etags.roles("", "", null, 20));
+        assertNotEquals(first, etags.roles(null, "abc", null, 20));
+        assertNotEquals(first, etags.roles(null, null, 2, 20));
+        assertNotEquals(first, etags.roles(null, null, null, 50));
+        assertNotEquals(first, etags.roles("admin", null, null, 20));
+
+        String permissions = etags.permissions(null, null, null, null, null, 20);
+        assertNotEquals(permissions, etags.permissions(null, "menu", null, null, null, 20));
+        assertNotEquals(permissions, etags.permissions(null, null, 1L, null, null, 20));
+    }
+
+    @Test
+    void queryValuesCannotBreakTheQuotedETag() {
+        String etag = etags.roles("a\" b", null, null, 20);
+        assertEquals(etag.length() - 1, etag.indexOf('"', 1));
+    }
+
+    private static RbacETags etags() {
+        RbacETags etags = new RbacETags();
+        ReflectionTestUtils.setField(etags, "policyVersionRegistry", new PolicyVersionRegistry());
+        return etags;
+    }
+}
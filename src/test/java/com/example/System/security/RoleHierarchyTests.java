@@ -0,0 +1,41 @@
+package com.example.System.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RoleHierarchyTests {
+
+    private final RoleHierarchy hierarchy = new RoleHierarchy();
+
+    @Test
+    void closureIsTransitiveAndRecomputedOnlyForAncestors() {
+        // admin(1) -> manager(2) -> user(3)，auditor(4) -> user(3)
+        hierarchy.addInherit(2L, 3L);
+        hierarchy.addInherit(1L, 2L);
+        hierarchy.addInherit(4L, 3L);
+
+        assertEquals(Set.of(1L, 2L, 3L), hierarchy.closureOf(1L));
+        assertEquals(Set.of(3L), hierarchy.inheritedRoleIds(List.of(2L, 4L)));
+
+        Set<Long> affected = hierarchy.removeInherit(2L, 3L);
+
+        assertEquals(Set.of(1L, 2L), affected);
+        assertEquals(Set.of(1L, 2L), hierarchy.closureOf(1L));
+        assertEquals(Set.of(4L, 3L), hierarchy.closureOf(4L));
+    }
+
+    @Test
+    void cyclicInheritanceIsRejected() {
+        hierarchy.addInherit(1L, 2L);
+        hierarchy.addInherit(2L, 3L);
+
+        assertThrows(RuntimeException.class, () -> hierarchy.addInherit(3L, 1L));
+        assertThrows(RuntimeException.class, () -> hierarchy.checkInherit(1L, 1L));
+        assertEquals(Set.of(3L), hierarchy.closureOf(3L));
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.System.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PolicyServiceImplTests {
+
+    @Test
+    void rolesMissingFromGrantsKeepTheirGrantsWithoutPrune() {
+        Map<String, Set<String>> desired = Map.of("editor", Set.of("doc:edit"));
+        Map<String, Set<String>> current = Map.of(
+                "viewer", Set.of("doc:view"),
+                "editor", Set.of("doc:view"));
+        Map<String, Set<String>> toAdd = new LinkedHashMap<>();
+        Map<String, Set<String>> toRemove = new LinkedHashMap<>();
+
+        PolicyServiceImpl.diffGrants(List.of("viewer", "editor"), desired, current, false, toAdd, toRemove);
+
+        assertEquals(Map.of("editor", Set.of("doc:edit")), toAdd);
+        assertEquals(Map.of("editor", Set.of("doc:view")), toRemove);
+    }
+
+    @Test
+    void pruneRevokesGrantsOfRolesMissingFromGrants() {
+        Map<String, Set<String>> current = Map.of("viewer", Set.of("doc:view"));
+        Map<String, Set<String>> toAdd = new LinkedHashMap<>();
+        Map<String, Set<String>> toRemove = new LinkedHashMap<>();
+
+        PolicyServiceImpl.diffGrants(List.of("viewer"), Map.of(), current, true, toAdd, toRemove);
+
+        assertTrue(toAdd.isEmpty());
+        assertEquals(Map.of("viewer", Set.of("doc:view")), toRemove);
+    }
+}
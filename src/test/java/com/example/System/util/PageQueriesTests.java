@@ -0,0 +1,24 @@
+package com.example.System.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageQueriesTests {
+
+    @Test
+    void cursorRoundTrips() {
+        assertEquals(123456789L, PageQueries.decodeCursor(PageQueries.encodeCursor(123456789L)));
+        assertNull(PageQueries.decodeCursor(null));
+        assertNull(PageQueries.decodeCursor(""));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> PageQueries.decodeCursor("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> PageQueries.decodeCursor(
+                PageQueries.encodeCursor(1L).substring(1)));
+    }
+}